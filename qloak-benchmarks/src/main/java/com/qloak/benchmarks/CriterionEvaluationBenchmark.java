@@ -0,0 +1,81 @@
+package com.qloak.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qloak.strength.CompiledPolicy;
+import com.qloak.strength.Criterion;
+import com.qloak.strength.InvalidPasswordException;
+import com.qloak.strength.Pair;
+import com.qloak.strength.Password;
+import com.qloak.strength.PasswordProfile;
+import com.qloak.strength.StrengthEvaluator;
+import com.qloak.strength.SuggestionReport;
+
+/**
+ * Rule evaluation with the default policy: one scan of the password per criterion (the
+ * String overloads) against one shared PasswordProfile scan that every criterion reads.
+ * Run with "-prof gc" to compare allocation per operation as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CriterionEvaluationBenchmark {
+
+    @Param({"Password1!", "correct horse battery staple", "xK9#mQ2$vL7@pR4!nT8&", "пароль𝐀😀Ünïcödé1"})
+    public String password;
+
+    private Criterion[] criteria;
+    private PasswordProfile profile;
+    private StrengthEvaluator evaluator;
+
+    @Setup
+    public void setup() {
+        criteria = CompiledPolicy.defaults().getCriteria().toArray(new Criterion[0]);
+        profile = new PasswordProfile();
+        evaluator = new StrengthEvaluator();
+    }
+
+    @Benchmark
+    public int scanPerCriterion() {
+        int failures = 0;
+        for (Criterion criterion : criteria) {
+            if (!criterion.test(password)) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    @Benchmark
+    public int sharedProfile() {
+        profile.scan(password);
+        int failures = 0;
+        for (Criterion criterion : criteria) {
+            if (!criterion.test(profile)) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    // The full interactive path, including the Password, report and Pair allocations
+    @Benchmark
+    public Pair<String, SuggestionReport> evaluate() throws InvalidPasswordException {
+        return evaluator.evaluate(new Password(password));
+    }
+}
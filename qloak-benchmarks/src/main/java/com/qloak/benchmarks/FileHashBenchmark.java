@@ -0,0 +1,62 @@
+package com.qloak.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qloak.integrity.FileHashCalculator;
+
+/**
+ * SHA-256 checksum of a file held in the page cache, so the numbers reflect the read and
+ * digest path rather than the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileHashBenchmark {
+
+    @Param({"4096", "1048576"})
+    public int size;
+
+    private File file;
+    private FileHashCalculator calculator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        file = Files.createTempFile("qloak-hash", ".bin").toFile();
+        Files.write(file.toPath(), data);
+        calculator = new FileHashCalculator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public String generateChecksum() throws IOException, NoSuchAlgorithmException {
+        return calculator.generateChecksum(file);
+    }
+}
@@ -0,0 +1,46 @@
+package com.qloak.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qloak.strength.PatternScorer;
+import com.qloak.strength.StrengthScore;
+
+/**
+ * Pattern-based scoring of typical inputs: a dictionary word with substitutions, a keyboard
+ * walk, a date, a passphrase and a random string (the worst case for the matchers).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PatternScorerBenchmark {
+
+    @Param({"P@ssw0rd1!", "qwertyuiop", "19.08.1991", "correct horse battery staple", "xK9#mQ2$vL7@pR4!nT8&"})
+    public String password;
+
+    private PatternScorer scorer;
+
+    @Setup
+    public void setup() {
+        scorer = PatternScorer.defaults();
+    }
+
+    @Benchmark
+    public StrengthScore score() {
+        return scorer.score(password);
+    }
+}
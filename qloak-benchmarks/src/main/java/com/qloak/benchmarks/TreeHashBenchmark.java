@@ -0,0 +1,82 @@
+package com.qloak.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.qloak.integrity.FileHashCalculator;
+
+/**
+ * Scaling of the tree-hash mode with pool size on one large file in the page cache,
+ * against the sequential SHA-256 of the same file. Multiply ops/s by size for bytes/s;
+ * the thread counts above the machine's core count show the cost of oversubscription.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TreeHashBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    public int threads;
+
+    @Param({"268435456"})
+    public long size;
+
+    private File file;
+    private ForkJoinPool pool;
+    private FileHashCalculator calculator;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("qloak-tree", ".bin").toFile();
+        byte[] chunk = new byte[1 << 20];
+        Random random = new Random(42);
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            for (long written = 0; written < size; written += chunk.length) {
+                random.nextBytes(chunk);
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        pool = new ForkJoinPool(threads);
+        calculator = new FileHashCalculator();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public String treeChecksum() throws IOException, NoSuchAlgorithmException {
+        return calculator.generateTreeChecksum(file, pool);
+    }
+
+    // Baseline: one core, independent of the threads parameter
+    @Benchmark
+    public String sequentialChecksum() throws IOException, NoSuchAlgorithmException {
+        return calculator.generateChecksum(file);
+    }
+}
@@ -0,0 +1,356 @@
+
+
+package com.qloak.cli;
+
+// Import for reading input from user
+import java.util.Scanner;
+
+// Import for handling files
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Import for hashing errors
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+
+// Imports for the checksum helpers and metrics export
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.integrity.ChecksumFileManager;
+import com.qloak.integrity.DedupIndex;
+import com.qloak.integrity.DuplicateFinder;
+import com.qloak.integrity.FileHashCalculator;
+import com.qloak.integrity.ManifestKeys;
+import com.qloak.integrity.ManifestReport;
+import com.qloak.integrity.ManifestSigner;
+import com.qloak.integrity.ManifestVerifier;
+import com.qloak.integrity.VerifyJob;
+import com.qloak.integrity.VerifyReport;
+
+// Main class that starts the program and manages user interaction
+public class FileIntegrityChecker {
+
+    // Main method where the program starts
+    public static void main(String[] args) {
+
+        // Export counters and latencies if -Dqloak.metrics.file is set
+        MetricsExporter.startFromSystemProperties();
+
+        // Dedup mode: FileIntegrityChecker --dedup <dir>... [--index FILE] [--link] [--min-size BYTES] [--threads N]
+        if (args.length >= 2 && args[0].equals("--dedup")) {
+            runDedup(args, System.out);
+            return;
+        }
+        // Resumable tree verify: FileIntegrityChecker --verify-tree <dir> --journal FILE [--checkpoint-mb N]
+        // (--checkpoint-mb N: huge files also resume mid-file, at a slower hashing speed)
+        if (args.length >= 4 && args[0].equals("--verify-tree")) {
+            runVerifyTree(args, System.out);
+            return;
+        }
+        // Signed manifests: --keygen <private.pem> <public.pem>
+        //   --sign-tree <dir> <manifest> --key <private.pem> [--threads N]
+        //   --verify-manifest <manifest> --pubkey <public.pem> [--threads N]
+        if (args.length >= 3 && args[0].equals("--keygen")) {
+            runKeygen(args, System.out);
+            return;
+        }
+        if (args.length >= 5 && args[0].equals("--sign-tree")) {
+            runSignTree(args, System.out);
+            return;
+        }
+        if (args.length >= 4 && args[0].equals("--verify-manifest")) {
+            runVerifyManifest(args, System.out);
+            return;
+        }
+
+        // Create Scanner object to read user input
+        Scanner scanner = new Scanner(System.in);
+
+        // Show options to the user
+        System.out.println("Welcome to the File Integrity Checker!");
+        System.out.println("Type 'generate' to generate and save a checksum.");
+        System.out.println("Type 'verify' to verify a file using saved checksum.");
+
+        String choice = "";
+
+        // Keep asking until a non-empty valid option is entered
+        while (true) {
+            System.out.print("Enter your choice: ");
+            choice = scanner.nextLine().trim();
+
+            if (choice.equalsIgnoreCase("generate") || choice.equalsIgnoreCase("verify")) {
+                break;
+            } else {
+                System.out.println("Invalid choice. Please type 'generate' or 'verify'.");
+            }
+        }
+
+        // Ask the user to enter the path of the file they want to use
+        File sourceFile = null;
+        while (true) {
+            System.out.print("Enter the full path of the file: ");
+            String filePath = scanner.nextLine().trim();
+
+            if (!filePath.isEmpty()) {
+                sourceFile = new File(filePath);
+
+                // Check if file exists and is a file (not directory)
+                if (sourceFile.exists() && sourceFile.isFile()) {
+                    break;
+                } else {
+                    System.out.println("Invalid file. Please enter a valid existing file path.");
+                }
+            } else {
+                System.out.println("File path cannot be blank.");
+            }
+        }
+
+        // Create instances of helper classes
+        FileHashCalculator calculator = new FileHashCalculator();
+        ChecksumFileManager fileManager = new ChecksumFileManager();
+
+        try {
+            if (choice.equalsIgnoreCase("generate")) {
+                // Generate hash
+                long start = System.nanoTime();
+                String checksum = calculator.generateChecksum(sourceFile);
+                printTiming(sourceFile, start);
+
+                // Ask for target directory
+                String targetDirectory = "";
+                while (true) {
+                    System.out.print("Enter the directory path where you want to save the checksum file: ");
+                    targetDirectory = scanner.nextLine().trim();
+
+                    File dir = new File(targetDirectory);
+                    if (!targetDirectory.isEmpty() && dir.exists() && dir.isDirectory()) {
+                        break;
+                    } else {
+                        System.out.println("Invalid directory. Please enter a valid directory path.");
+                    }
+                }
+
+                // Save checksum to specified directory
+                fileManager.saveChecksumToDirectory(sourceFile, targetDirectory, checksum);
+                System.out.println("Checksum saved successfully.");
+
+            } else if (choice.equalsIgnoreCase("verify")) {
+                // Verify checksum
+                long start = System.nanoTime();
+                boolean result = fileManager.verifyChecksum(sourceFile, calculator);
+                printTiming(sourceFile, start);
+                if (result) {
+                    System.out.println("File is intact. Checksums match!");
+                } else {
+                    System.out.println("WARNING: File may have been changed! Checksums do NOT match.");
+                }
+            }
+        } catch (IOException e) {
+            // Handle file input/output errors
+            System.out.println("An I/O error occurred: " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            // Handle invalid hashing algorithm errors
+            System.out.println("Hashing error: SHA-256 not supported.");
+        }
+
+        // The scanner is not closed: it wraps System.in, which MainMenu still reads from
+    }
+
+    // Method to find duplicate files, print them, and optionally save the index and hard-link the copies
+    static void runDedup(String[] args, PrintStream out) {
+        List<Path> roots = new ArrayList<>();
+        String indexFile = null;
+        boolean link = false;
+        long minSize = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--index") && i + 1 < args.length) {
+                indexFile = args[++i];
+            } else if (args[i].equals("--link")) {
+                link = true;
+            } else if (args[i].equals("--min-size") && i + 1 < args.length) {
+                minSize = Long.parseLong(args[++i]);
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else {
+                roots.add(Path.of(args[i]));
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            DuplicateFinder finder = new DuplicateFinder(minSize, threads);
+            DedupIndex index = finder.scan(roots);
+            Map<String, List<Path>> groups = index.getDuplicateGroups();
+            for (Map.Entry<String, List<Path>> group : groups.entrySet()) {
+                out.println(group.getKey() + "  (" + index.getSize(group.getKey()) + " bytes)");
+                for (Path path : group.getValue()) {
+                    out.println("    " + path);
+                }
+            }
+            out.printf("Scanned %d files in %.2f s: %d head/tail hashes, %d full hashes.%n",
+                    index.getFilesScanned(), (System.nanoTime() - start) / 1e9,
+                    index.getPartialHashes(), index.getFullHashes());
+            out.printf("%d duplicate group(s), %d bytes reclaimable.%n", groups.size(), index.getReclaimableBytes());
+
+            if (indexFile != null) {
+                index.write(Path.of(indexFile));
+                out.println("Index saved to " + indexFile);
+            }
+            if (link) {
+                out.printf("Hard-linked duplicates, reclaimed %d bytes.%n", finder.linkDuplicates(index));
+            }
+        } catch (IOException e) {
+            out.println("An I/O error occurred: " + e.getMessage());
+        }
+    }
+
+    // Method to verify a whole tree against its .sha256 files, resuming from the journal if it exists
+    static void runVerifyTree(String[] args, PrintStream out) {
+        String journal = null;
+        long checkpointMb = 0;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--journal") && i + 1 < args.length) {
+                journal = args[++i];
+            } else if (args[i].equals("--checkpoint-mb") && i + 1 < args.length) {
+                checkpointMb = Long.parseLong(args[++i]);
+            }
+        }
+        if (journal == null) {
+            out.println("Usage: --verify-tree <dir> --journal FILE [--checkpoint-mb N]");
+            return;
+        }
+
+        VerifyJob job = new VerifyJob(Path.of(args[1]), Path.of(journal));
+        job.setCheckpointBytes(checkpointMb << 20);
+        // On Ctrl-C, force the files finished so far to disk so the next run skips them
+        Thread flushOnExit = new Thread(() -> {
+            try {
+                job.checkpointNow();
+            } catch (IOException ignored) {
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(flushOnExit);
+        try {
+            long start = System.nanoTime();
+            VerifyReport report = job.run((done, total) -> {
+                if (done % 10_000 == 0) {
+                    out.println(done + " files done");
+                }
+            });
+            double seconds = (System.nanoTime() - start) / 1e9;
+            for (String problem : report.getProblems()) {
+                out.println(problem);
+            }
+            out.printf("OK %d, FAILED %d, ERROR %d, no checksum %d (%d taken from the journal).%n",
+                    report.getCount(VerifyJob.Status.OK), report.getCount(VerifyJob.Status.FAILED),
+                    report.getCount(VerifyJob.Status.ERROR), report.getCount(VerifyJob.Status.NO_CHECKSUM),
+                    report.getResumed());
+            out.printf("Hashed %d bytes in %.2f s (%.1f MiB/s).%n", report.getBytesHashed(), seconds,
+                    report.getBytesHashed() / 1048576.0 / Math.max(seconds, 1e-9));
+            out.println(report.isClean() ? "All checked files are intact." : "WARNING: some files did not verify.");
+        } catch (IOException e) {
+            out.println("An I/O error occurred: " + e.getMessage() + " (run again to resume)");
+        } finally {
+            try {
+                Runtime.getRuntime().removeShutdownHook(flushOnExit);
+            } catch (IllegalStateException ignored) {
+                // Already shutting down
+            }
+        }
+    }
+
+    // Method to create an Ed25519 key pair for signing manifests
+    static void runKeygen(String[] args, PrintStream out) {
+        try {
+            ManifestKeys.generate(Path.of(args[1]), Path.of(args[2]));
+            out.println("Private key saved to " + args[1] + ", public key to " + args[2]);
+        } catch (IOException | GeneralSecurityException e) {
+            out.println("Could not create the key pair: " + e.getMessage());
+        }
+    }
+
+    // Method to hash a whole tree into a manifest and sign it
+    static void runSignTree(String[] args, PrintStream out) {
+        String key = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("--key") && i + 1 < args.length) {
+                key = args[++i];
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            }
+        }
+        if (key == null) {
+            out.println("Usage: --sign-tree <dir> <manifest> --key <private.pem> [--threads N]");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            Path manifest = Path.of(args[2]);
+            int entries = new ManifestSigner(threads).createManifest(Path.of(args[1]), manifest,
+                    ManifestKeys.loadPrivateKey(Path.of(key)));
+            out.printf("Signed %d entries in %.2f s: %s, %s%n", entries, (System.nanoTime() - start) / 1e9,
+                    manifest, ManifestSigner.signatureFile(manifest));
+        } catch (IOException | GeneralSecurityException e) {
+            out.println("Could not sign the tree: " + e.getMessage());
+        }
+    }
+
+    // Method to check a signed manifest and every file it lists
+    static void runVerifyManifest(String[] args, PrintStream out) {
+        String publicKey = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--pubkey") && i + 1 < args.length) {
+                publicKey = args[++i];
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            }
+        }
+        if (publicKey == null) {
+            out.println("Usage: --verify-manifest <manifest> --pubkey <public.pem> [--threads N]");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            ManifestReport report = new ManifestVerifier(threads).verify(Path.of(args[1]),
+                    ManifestKeys.loadPublicKey(Path.of(publicKey)));
+            if (!report.isSignatureValid()) {
+                out.println("WARNING: signature check failed: " + report.getSignatureProblem());
+                if (report.getEntries() == 0) {
+                    out.println("No listed file was checked.");
+                    return;
+                }
+            }
+            for (String path : report.getFailed()) {
+                out.println("FAILED  " + path);
+            }
+            for (String path : report.getMissing()) {
+                out.println("MISSING  " + path);
+            }
+            out.printf("%d entries: OK %d, FAILED %d, MISSING %d in %.2f s.%n", report.getEntries(),
+                    report.getOk(), report.getFailed().size(), report.getMissing().size(),
+                    (System.nanoTime() - start) / 1e9);
+            if (report.isSignatureValid()) {
+                out.println("Signature is valid.");
+            }
+            out.println(report.isClean() ? "Manifest verified." : "WARNING: manifest did not verify.");
+        } catch (IOException | GeneralSecurityException e) {
+            out.println("Could not verify the manifest: " + e.getMessage());
+        }
+    }
+
+    // Method to show how long hashing took and how fast the file was read
+    private static void printTiming(File file, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Hashed %d bytes in %.3f s (%.1f MiB/s).%n",
+                file.length(), seconds, file.length() / 1048576.0 / Math.max(seconds, 1e-9));
+    }
+}
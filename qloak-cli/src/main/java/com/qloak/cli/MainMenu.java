@@ -1,13 +1,16 @@
-
+package com.qloak.cli;
 
 import java.util.Scanner;
 
+import com.qloak.common.metrics.MetricsExporter;
+
 /**
  *
  * @author user
  */
 public class MainMenu {
     public static void main(String[] args) {
+        MetricsExporter.startFromSystemProperties();
         Scanner scanner = new Scanner(System.in);
 
         while (true) {
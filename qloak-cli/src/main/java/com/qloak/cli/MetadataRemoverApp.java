@@ -0,0 +1,43 @@
+package com.qloak.cli;
+
+import java.io.File;
+import java.util.Scanner;
+
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.metadata.ChecksummingSanitizer;
+import com.qloak.metadata.SanitizedFile;
+
+/**
+ * MetadataRemoverApp
+ *
+ * This program can remove metadata from PDF, IMAGE, or DOCX files.
+ * The cleaning itself is done by MetadataRemover; this class only talks to the user.
+ * The SHA-256 of the cleaned copy is computed while it is written and printed with it.
+ */
+public class MetadataRemoverApp {
+
+    public static void main(String[] args) {
+        MetricsExporter.startFromSystemProperties();
+        Scanner scanner = new Scanner(System.in);
+
+        try {
+            System.out.print("Select file type (PDF/IMAGE/DOCX): ");
+            String fileType = scanner.nextLine().trim().toUpperCase();
+
+            System.out.print("Enter file path: ");
+            String filePath = scanner.nextLine().trim();
+
+            File source = new File(filePath);
+            long start = System.nanoTime();
+            SanitizedFile cleaned = new ChecksummingSanitizer().sanitize(fileType, source);
+            System.out.printf("Saved cleaned file: %s (%d -> %d bytes in %.3f s)%n", cleaned.getCleaned().getPath(),
+                    source.length(), cleaned.getSize(), (System.nanoTime() - start) / 1e9);
+            System.out.println("SHA-256: " + cleaned.getChecksum());
+            System.out.println("Metadata removed successfully!");
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+            // e.printStackTrace(); // Uncomment if you want full stack trace for debugging
+        }
+        // The scanner is not closed: it wraps System.in, which MainMenu still reads from
+    }
+}
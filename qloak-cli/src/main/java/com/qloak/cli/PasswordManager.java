@@ -0,0 +1,94 @@
+package com.qloak.cli;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+import com.qloak.vault.CredentialQuery;
+import com.qloak.vault.PasswordVault;
+import com.qloak.vault.VaultIndex;
+
+// Console dialogs of the Password Manager; the vault file format and encryption live in PasswordVault
+class PasswordManager {
+    private final PasswordVault vault = new PasswordVault();
+
+    public void savePasswords(Scanner scanner) {
+        try {
+            System.out.print("\nEnter number of username/password pairs to save: ");
+            int count = scanner.nextInt();
+            scanner.nextLine(); // Consume newline
+
+            String[][] credentials = new String[count][2];
+
+            // Collect credentials
+            for(int i = 0; i < count; i++) {
+                System.out.print("Enter username #" + (i+1) + ": ");
+                credentials[i][0] = scanner.nextLine();
+                System.out.print("Enter password #" + (i+1) + ": ");
+                credentials[i][1] = scanner.nextLine();
+            }
+
+            // Choose encryption method
+            System.out.print("Choose encryption method (AES/DES): ");
+            String method = scanner.nextLine().toUpperCase();
+
+            // Encrypt and save to file
+            System.out.print("Enter file path to save: ");
+            String filePath = scanner.nextLine();
+            vault.save(credentials, method, filePath);
+            System.out.println("Credentials saved successfully!");
+
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    public void retrievePasswords(Scanner scanner) {
+        try {
+            System.out.print("\nEnter encryption method used (AES/DES): ");
+            String method = scanner.nextLine().toUpperCase();
+            System.out.print("Enter file path: ");
+            String filePath = scanner.nextLine();
+
+            String[][] credentials = PasswordVault.readFromFile(filePath);
+            VaultIndex index = new VaultIndex(credentials);
+
+            System.out.println("\nVault contains " + index.size() + " stored credential(s).");
+
+            System.out.print("\nDo you want to decrypt passwords? (yes/no): ");
+            String choice = scanner.nextLine().toLowerCase();
+
+            if(choice.equals("yes")) {
+                System.out.print("Enter master password: ");
+                String inputPassword = scanner.nextLine();
+
+                if(PasswordVault.isMasterPassword(inputPassword)) {
+                    System.out.print("Enter username to look up (exact, prefix* or glob; * for all): ");
+                    CredentialQuery query = CredentialQuery.parse(scanner.nextLine().trim());
+
+                    // Only the matched records are decrypted; everything else stays ciphertext
+                    List<String[]> matches = index.find(query);
+                    if(matches.isEmpty()) {
+                        System.out.println("No stored credentials match that query.");
+                        return;
+                    }
+
+                    System.out.println("\nDecrypted Passwords:");
+                    for(String[] pair : matches) {
+                        char[] decrypted = vault.decrypt(pair[1], method);
+                        try {
+                            System.out.print("Username: " + pair[0] + " | Password: ");
+                            System.out.println(decrypted);
+                        } finally {
+                            Arrays.fill(decrypted, '\0');
+                        }
+                    }
+                } else {
+                    System.out.println("Incorrect master password!");
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+}
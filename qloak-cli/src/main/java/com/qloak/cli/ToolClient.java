@@ -0,0 +1,88 @@
+package com.qloak.cli;
+
+import java.io.BufferedReader;
+import java.io.Console;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ToolClient
+ *
+ * Thin client for ToolServer: sends one command with the current directory, streams the
+ * output back and exits with the command's exit code (2 if no server is running).
+ *
+ * Usage:
+ *   java [-Dqloak.socket=PATH] ToolClient <command> [args...]
+ *
+ * "strength" without an argument prompts for the password (or reads one line from stdin)
+ * so it does not end up in the shell history.
+ */
+public class ToolClient {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: ToolClient <command> [args...]");
+            System.out.println(ToolCommands.USAGE);
+            System.exit(2);
+        }
+        List<String> command = new ArrayList<>(Arrays.asList(args));
+        if (command.size() == 1 && command.get(0).equals("strength")) {
+            command.add(readPassword());
+        }
+        for (String arg : command) {
+            if (arg.indexOf('\t') >= 0 || arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+                System.err.println("Arguments cannot contain tabs or line breaks.");
+                System.exit(2);
+            }
+        }
+
+        Path socketPath = ToolServer.defaultSocket();
+        SocketChannel channel;
+        try {
+            channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+        } catch (IOException e) {
+            System.err.println("No Qloak tool server on " + socketPath + " (" + e.getMessage() + ").");
+            System.err.println("Start one with: java -cp qloak.jar com.qloak.cli.ToolServer --warmup");
+            System.exit(2);
+            return;
+        }
+
+        int exitCode = 1;
+        try (channel) {
+            Writer out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+            out.write(Path.of("").toAbsolutePath() + "\t" + String.join("\t", command) + "\n");
+            out.flush();
+
+            BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty() && line.charAt(0) == ToolServer.END_OF_OUTPUT) {
+                    exitCode = Integer.parseInt(line.substring(1));
+                    break;
+                }
+                System.out.println(line);
+            }
+        }
+        System.out.flush();
+        System.exit(exitCode);
+    }
+
+    private static String readPassword() throws IOException {
+        Console console = System.console();
+        if (console != null) {
+            char[] password = console.readPassword("Enter your password: ");
+            return password == null ? "" : new String(password);
+        }
+        String line = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).readLine();
+        return line == null ? "" : line;
+    }
+}
@@ -0,0 +1,297 @@
+package com.qloak.cli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.qloak.common.io.IoThrottle;
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.common.metrics.MetricsRegistry;
+import com.qloak.integrity.ChecksumFileManager;
+import com.qloak.integrity.FileHashCalculator;
+import com.qloak.metadata.ChecksummingSanitizer;
+import com.qloak.metadata.MetadataRemover;
+import com.qloak.strength.InvalidPasswordException;
+import com.qloak.strength.Password;
+import com.qloak.strength.PasswordGenerator;
+import com.qloak.strength.PatternScorer;
+import com.qloak.strength.StrengthEvaluator;
+
+/**
+ * The non-interactive commands served by ToolServer. Engines that are expensive to build
+ * (pattern scorer tables, default evaluator) are created once and stay resident; file
+ * arguments are resolved against the client's working directory.
+ */
+class ToolCommands {
+    static final String USAGE = String.join("\n",
+            "Commands:",
+            "  hash [--tree] <file>...                 print SHA-256 checksums (--tree: parallel tree hash)",
+            "  checksum <file> <dir>                   save <dir>/<file>.sha256",
+            "  verify <file>...                        compare files with their saved .sha256",
+            "  dedup <dir>... [options]                find duplicate files (see FileIntegrityChecker --dedup)",
+            "  sanitize <PDF|IMAGE|DOCX> <file>...     write metadata-free copies",
+            "  sanitize-sum <PDF|IMAGE|DOCX> <file>... same, printing a sha256sum line per copy",
+            "  strength <password>                     rate one password",
+            "  strength-batch <file> [options]         audit a password list (see pwstrengthchecker --batch)",
+            "  generate <count> [options]              generate passwords (see pwstrengthchecker --generate)",
+            "  throttle [BYTES/S [OPS/S]]              show or set the disk I/O limits (0 = unlimited, e.g. 50M 200)",
+            "  metrics                                 print the server's metrics (Prometheus text)",
+            "  shutdown                                stop the server");
+
+    private final FileHashCalculator calculator = new FileHashCalculator();
+    private final ChecksumFileManager checksums = new ChecksumFileManager();
+    private final MetadataRemover remover = new MetadataRemover();
+    private final ChecksummingSanitizer sanitizer = new ChecksummingSanitizer();
+    private final StrengthEvaluator evaluator = pwstrengthchecker.createEvaluator(
+            System.getProperty("qloak.policy"), System.getProperty("qloak.breachFilter"), System.out);
+
+    /**
+     * Runs one command and returns its exit code: 0 on success, 1 if the command ran but
+     * reported a failure (e.g. a checksum mismatch), 2 for usage errors.
+     */
+    int run(Path cwd, List<String> args, PrintStream out) {
+        if (args.isEmpty()) {
+            out.println(USAGE);
+            return 2;
+        }
+        String command = args.get(0);
+        List<String> rest = args.subList(1, args.size());
+        try {
+            switch (command) {
+                case "hash":
+                    return hash(cwd, rest, out);
+                case "checksum":
+                    return checksum(cwd, rest, out);
+                case "verify":
+                    return verify(cwd, rest, out);
+                case "dedup":
+                    return dedup(cwd, rest, out);
+                case "sanitize":
+                    return sanitize(cwd, rest, out);
+                case "sanitize-sum":
+                    return sanitizeSum(cwd, rest, out);
+                case "strength":
+                    return strength(rest, out);
+                case "strength-batch":
+                    return delegate("--batch", cwd, rest, out, "--policy", "--breach-filter");
+                case "generate":
+                    return delegate("--generate", cwd, rest, out, "--out", "--policy");
+                case "throttle":
+                    return throttle(rest, out);
+                case "metrics":
+                    out.print(MetricsExporter.toString(MetricsRegistry.global(), MetricsExporter.Format.PROMETHEUS));
+                    return 0;
+                default:
+                    out.println("Unknown command: " + command);
+                    out.println(USAGE);
+                    return 2;
+            }
+        } catch (IOException e) {
+            out.println("An I/O error occurred: " + e.getMessage());
+            return 1;
+        } catch (NoSuchAlgorithmException e) {
+            out.println("Hashing error: SHA-256 not supported.");
+            return 1;
+        } catch (Exception e) {
+            out.println("Error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private int hash(Path cwd, List<String> files, PrintStream out) throws IOException, NoSuchAlgorithmException {
+        boolean tree = !files.isEmpty() && files.get(0).equals("--tree");
+        if (tree) {
+            files = files.subList(1, files.size());
+        }
+        if (files.isEmpty()) {
+            return usage(out, "hash [--tree] <file>...");
+        }
+        for (String name : files) {
+            File file = resolve(cwd, name);
+            String checksum = tree ? calculator.generateTreeChecksum(file) : calculator.generateChecksum(file);
+            out.println(checksum + "  " + name);
+        }
+        return 0;
+    }
+
+    private int checksum(Path cwd, List<String> args, PrintStream out) throws IOException, NoSuchAlgorithmException {
+        if (args.size() != 2) {
+            return usage(out, "checksum <file> <dir>");
+        }
+        File file = resolve(cwd, args.get(0));
+        File dir = resolve(cwd, args.get(1));
+        checksums.saveChecksumToDirectory(file, dir.getPath(), calculator.generateChecksum(file));
+        out.println("Checksum saved to " + new File(dir, file.getName() + ".sha256").getPath());
+        return 0;
+    }
+
+    private int verify(Path cwd, List<String> files, PrintStream out) throws IOException, NoSuchAlgorithmException {
+        if (files.isEmpty()) {
+            return usage(out, "verify <file>...");
+        }
+        int failures = 0;
+        for (String name : files) {
+            boolean intact = checksums.verifyChecksum(resolve(cwd, name), calculator);
+            out.println(name + ": " + (intact ? "OK" : "FAILED"));
+            if (!intact) {
+                failures++;
+            }
+        }
+        return failures == 0 ? 0 : 1;
+    }
+
+    // Directories and the index file are resolved against the client's working directory
+    private int dedup(Path cwd, List<String> args, PrintStream out) {
+        if (args.isEmpty()) {
+            return usage(out, "dedup <dir>... [--index FILE] [--link] [--min-size BYTES] [--threads N]");
+        }
+        String[] full = new String[args.size() + 1];
+        full[0] = "--dedup";
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            boolean isValue = i > 0 && (args.get(i - 1).equals("--min-size") || args.get(i - 1).equals("--threads"));
+            full[i + 1] = arg.startsWith("--") || isValue ? arg : resolve(cwd, arg).getPath();
+        }
+        FileIntegrityChecker.runDedup(full, out);
+        return 0;
+    }
+
+    private int sanitize(Path cwd, List<String> args, PrintStream out) throws Exception {
+        if (args.size() < 2) {
+            return usage(out, "sanitize <PDF|IMAGE|DOCX> <file>...");
+        }
+        String fileType = args.get(0).toUpperCase();
+        for (String name : args.subList(1, args.size())) {
+            File cleaned = remover.removeMetadata(fileType, resolve(cwd, name));
+            out.println("Saved cleaned file: " + cleaned.getPath());
+        }
+        return 0;
+    }
+
+    // Cleans and hashes in one pass; output can be saved as a manifest and checked with sha256sum -c
+    private int sanitizeSum(Path cwd, List<String> args, PrintStream out) throws Exception {
+        if (args.size() < 2) {
+            return usage(out, "sanitize-sum <PDF|IMAGE|DOCX> <file>...");
+        }
+        String fileType = args.get(0).toUpperCase();
+        for (String name : args.subList(1, args.size())) {
+            out.println(sanitizer.sanitize(fileType, resolve(cwd, name)).toManifestLine());
+        }
+        return 0;
+    }
+
+    private int strength(List<String> args, PrintStream out) {
+        if (args.size() != 1) {
+            return usage(out, "strength <password>");
+        }
+        try {
+            pwstrengthchecker.printReport(new Password(args.get(0)), evaluator, out);
+            return 0;
+        } catch (InvalidPasswordException e) {
+            out.println("Invalid input: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    // Runs a pwstrengthchecker mode with the file arguments made absolute
+    private int delegate(String mode, Path cwd, List<String> args, PrintStream out, String... pathOptions) {
+        if (args.isEmpty()) {
+            out.println(USAGE);
+            return 2;
+        }
+        String[] full = new String[args.size() + 1];
+        full[0] = mode;
+        for (int i = 0; i < args.size(); i++) {
+            full[i + 1] = args.get(i);
+        }
+        if (mode.equals("--batch")) {
+            if (full[1].equals("-")) {
+                out.println("Reading passwords from stdin is not supported through the server; pass a file.");
+                return 2;
+            }
+            full[1] = resolve(cwd, full[1]).getPath();
+        }
+        for (int i = 1; i + 1 < full.length; i++) {
+            if (Arrays.asList(pathOptions).contains(full[i])) {
+                full[i + 1] = resolve(cwd, full[i + 1]).getPath();
+            }
+        }
+        if (mode.equals("--batch")) {
+            pwstrengthchecker.runBatch(full, null, out);
+        } else {
+            pwstrengthchecker.runGenerate(full, out);
+        }
+        return 0;
+    }
+
+    /**
+     * Runs every engine on synthetic input so class loading, static tables and JIT
+     * compilation happen before the first real request (and are captured by a CDS archive
+     * when the JVM runs with -XX:ArchiveClassesAtExit).
+     */
+    void warmUp(int rounds, PrintStream out) throws IOException {
+        long start = System.nanoTime();
+        PatternScorer scorer = PatternScorer.defaults();
+        PasswordGenerator generator = new PasswordGenerator(evaluator);
+        String[] samples = {"Password1!", "qwertyuiop", "19.08.1991", "correct horse battery staple", "xK9#mQ2$vL7@"};
+
+        Path file = Files.createTempFile("qloak-warmup", ".bin");
+        try {
+            byte[] data = new byte[64 * 1024];
+            new Random(1).nextBytes(data);
+            Files.write(file, data);
+            StringWriter sink = new StringWriter();
+            for (int round = 0; round < rounds; round++) {
+                for (String sample : samples) {
+                    evaluator.evaluate(new Password(sample));
+                    sink.append(scorer.score(sample).getLabel());
+                }
+                char[] generated = generator.generate(PasswordGenerator.Mode.random(16));
+                Arrays.fill(generated, '\0');
+                if (round % 100 == 0) {
+                    sink.append(calculator.generateChecksum(file.toFile()));
+                }
+            }
+        } catch (InvalidPasswordException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Warm-up failed", e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        out.printf("Warmed up in %.2f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    // Limits apply at once, also to hashes and sanitizations already running
+    private int throttle(List<String> args, PrintStream out) {
+        IoThrottle throttle = IoThrottle.global();
+        if (args.size() > 2) {
+            return usage(out, "throttle [BYTES/S [OPS/S]]");
+        }
+        if (!args.isEmpty()) {
+            long opsPerSecond = args.size() == 2 ? IoThrottle.parseSize(args.get(1)) : throttle.getOpsPerSecond();
+            throttle.setLimits(IoThrottle.parseSize(args.get(0)), opsPerSecond);
+        }
+        out.printf("I/O limits: %s bytes/s, %s ops/s, %d-byte blocks%n",
+                limit(throttle.getBytesPerSecond()), limit(throttle.getOpsPerSecond()), throttle.getBlockSize());
+        return 0;
+    }
+
+    private static String limit(long value) {
+        return value == 0 ? "unlimited" : Long.toString(value);
+    }
+
+    private static int usage(PrintStream out, String usage) {
+        out.println("Usage: " + usage);
+        return 2;
+    }
+
+    private static File resolve(Path cwd, String name) {
+        return cwd.resolve(name).toFile();
+    }
+}
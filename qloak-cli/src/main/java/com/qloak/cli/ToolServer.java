@@ -0,0 +1,201 @@
+package com.qloak.cli;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.common.net.LocalSockets;
+
+/**
+ * ToolServer
+ *
+ * Keeps the integrity, metadata and strength engines resident in one warmed-up JVM and
+ * runs their non-interactive commands for ToolClient over a Unix-domain socket, so each
+ * invocation costs a socket round trip instead of a JVM start.
+ *
+ * One request per connection (UTF-8):
+ *   request:  <cwd> TAB <command> [TAB <arg>]... LF
+ *   response: the command's output, then a final line EOT <exit-code> LF
+ *
+ * Usage:
+ *   java ToolServer [--socket PATH] [--warmup | --warmup-only]
+ *
+ * --warmup-only runs the warm-up and exits; run it under -XX:ArchiveClassesAtExit to
+ * build an AppCDS archive (see the "cds" Maven profile).
+ */
+public class ToolServer implements AutoCloseable {
+    static final char END_OF_OUTPUT = '\u0004';
+    private static final int WARMUP_ROUNDS = 2_000;
+
+    private final Path socketPath;
+    private final ToolCommands commands;
+    private final ExecutorService workers;
+    private volatile ServerSocketChannel server;
+
+    public ToolServer(Path socketPath, ExecutorService workers) {
+        this.socketPath = socketPath;
+        this.commands = new ToolCommands();
+        this.workers = workers;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path socketPath = defaultSocket();
+        boolean warmup = false;
+        boolean warmupOnly = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--socket") && i + 1 < args.length) {
+                socketPath = Path.of(args[++i]);
+            } else if (args[i].equals("--warmup")) {
+                warmup = true;
+            } else if (args[i].equals("--warmup-only")) {
+                warmupOnly = true;
+            } else {
+                System.out.println("Usage: ToolServer [--socket PATH] [--warmup | --warmup-only]");
+                return;
+            }
+        }
+
+        ToolServer server = new ToolServer(socketPath,
+                Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())));
+        if (warmup || warmupOnly) {
+            server.commands.warmUp(WARMUP_ROUNDS, System.out);
+        }
+        if (warmupOnly) {
+            server.close();
+            return;
+        }
+
+        MetricsExporter.startFromSystemProperties();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Serving Qloak tools on " + socketPath);
+        server.serve();
+    }
+
+    // ${java.io.tmpdir}/qloak-<user>.sock, unless -Dqloak.socket is given
+    static Path defaultSocket() {
+        String configured = System.getProperty("qloak.socket");
+        if (configured != null) {
+            return Path.of(configured);
+        }
+        return Path.of(System.getProperty("java.io.tmpdir"), "qloak-" + System.getProperty("user.name") + ".sock");
+    }
+
+    /**
+     * Binds the socket privately to the current user (replacing a stale socket file, but
+     * nothing else; see LocalSockets) and accepts clients until close() is called or a client
+     * sends "shutdown". Connections from other users are closed unanswered.
+     */
+    public void serve() throws IOException {
+        server = LocalSockets.bindPrivate(socketPath);
+        UserPrincipal owner = LocalSockets.ownerOf(socketPath);
+        try {
+            while (true) {
+                SocketChannel client = server.accept();
+                if (!LocalSockets.isOwner(client, owner)) {
+                    client.close();
+                    continue;
+                }
+                workers.execute(() -> handle(client));
+            }
+        } catch (ClosedChannelException e) {
+            // close() was called; stop accepting
+        }
+    }
+
+    private void handle(SocketChannel channel) {
+        try (channel) {
+            BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            String line = in.readLine();
+            if (line == null) {
+                return;
+            }
+            List<String> fields = Arrays.asList(line.split("\t", -1));
+
+            LastByteOutputStream sink = new LastByteOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+            PrintStream out = new PrintStream(sink, false, StandardCharsets.UTF_8);
+            int exitCode;
+            boolean shutdown = false;
+            if (fields.size() < 2) {
+                out.println(ToolCommands.USAGE);
+                exitCode = 2;
+            } else if (fields.get(1).equals("shutdown")) {
+                out.println("Shutting down.");
+                exitCode = 0;
+                shutdown = true;
+            } else {
+                exitCode = commands.run(Path.of(fields.get(0)), fields.subList(1, fields.size()), out);
+            }
+
+            out.flush();
+            if (sink.last != '\n' && sink.last != -1) {
+                out.print('\n');
+            }
+            out.print(END_OF_OUTPUT);
+            out.print(exitCode);
+            out.print('\n');
+            out.flush();
+            if (shutdown) {
+                close();
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to report back
+        }
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    // Stops accepting clients and removes the socket file
+    @Override
+    public void close() {
+        try {
+            // Only remove the socket if this server bound it (not another server's, after a failed start)
+            if (server != null) {
+                server.close();
+                LocalSockets.deleteSocket(socketPath);
+            }
+        } catch (IOException ignored) {
+        }
+        workers.shutdown();
+    }
+
+    // Remembers the last byte written so the EOT line always starts on a line of its own
+    private static final class LastByteOutputStream extends FilterOutputStream {
+        int last = -1;
+
+        LastByteOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            last = b & 0xFF;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (len > 0) {
+                last = b[off + len - 1] & 0xFF;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.qloak.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.qloak.common.metrics.LatencyHistogram;
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.vault.ConcurrentVault;
+import com.qloak.vault.PasswordVault;
+import com.qloak.vault.VaultServer;
+
+/**
+ * VaultServerApp
+ *
+ * Console front end for VaultServer, which serves a password vault file to many concurrent
+ * local clients over a Unix-domain socket (see VaultServer for the line protocol), plus a
+ * small load generator to measure it.
+ *
+ * Usage:
+ *   java VaultServerApp serve <socket> <vault-file> <AES|DES>
+ *   java VaultServerApp load  <socket> <threads> <requests-per-thread> <query>
+ */
+public class VaultServerApp {
+
+    public static void main(String[] args) {
+        MetricsExporter.startFromSystemProperties();
+        if (args.length >= 4 && args[0].equals("serve")) {
+            serve(Path.of(args[1]), args[2], args[3].toUpperCase());
+        } else if (args.length >= 5 && args[0].equals("load")) {
+            load(Path.of(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]), args[4]);
+        } else {
+            System.out.println("Usage:");
+            System.out.println("  VaultServerApp serve <socket> <vault-file> <AES|DES>");
+            System.out.println("  VaultServerApp load  <socket> <threads> <requests-per-thread> <query>");
+        }
+    }
+
+    private static void serve(Path socketPath, String vaultFile, String method) {
+        Scanner scanner = new Scanner(System.in);
+        System.out.print("Enter master password: ");
+        String master = scanner.nextLine();
+        if (!PasswordVault.isMasterPassword(master)) {
+            System.out.println("Incorrect master password!");
+            return;
+        }
+
+        try {
+            ConcurrentVault vault = new ConcurrentVault(vaultFile, method, master, 4096, TimeUnit.MINUTES.toNanos(5));
+            VaultServer server = new VaultServer(socketPath, vault,
+                    Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Serving " + vault.size() + " credential(s) on " + socketPath);
+            server.serve();
+        } catch (Exception e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    // Drives a running server with concurrent GETs and reports client-observed latency
+    private static void load(Path socketPath, int threads, int requests, String query) {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder failures = new LongAdder();
+        Thread[] clients = new Thread[threads];
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            clients[t] = new Thread(() -> {
+                try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+                     BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+                     PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), false)) {
+                    for (int i = 0; i < requests; i++) {
+                        long begin = System.nanoTime();
+                        out.print("GET " + query + "\n");
+                        out.flush();
+                        String status = in.readLine();
+                        if (status == null || !status.startsWith("OK ")) {
+                            failures.increment();
+                            continue;
+                        }
+                        int rows = Integer.parseInt(status.substring(3));
+                        for (int r = 0; r < rows; r++) {
+                            in.readLine();
+                        }
+                        latency.record(System.nanoTime() - begin);
+                    }
+                    out.print("QUIT\n");
+                    out.flush();
+                } catch (IOException e) {
+                    failures.increment();
+                }
+            });
+            clients[t].start();
+        }
+        for (Thread client : clients) {
+            try {
+                client.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Requests: %d in %.2f s (%.0f req/s), failures: %d%n",
+                latency.count(), seconds, latency.count() / seconds, failures.sum());
+        System.out.printf("Latency p50: %.1f us, p99: %.1f us%n",
+                latency.percentile(50) / 1e3, latency.percentile(99) / 1e3);
+
+        // Also show what the server measured on its side
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+             BufferedReader in = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), false)) {
+            out.print("STATS\nQUIT\n");
+            out.flush();
+            System.out.println("Server: " + in.readLine());
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.qloak.cli;
+
+import java.nio.file.Path;
+import java.util.Scanner;
+
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.strength.PasswordGenerator;
+import com.qloak.strength.PasswordPolicy;
+import com.qloak.strength.StrengthEvaluator;
+import com.qloak.vault.PasswordVault;
+
+public class pwmanager {
+    public static void main(String[] args) {
+        MetricsExporter.startFromSystemProperties();
+        PasswordManager manager = new PasswordManager();
+        Scanner scanner = new Scanner(System.in);
+        
+        // Bulk provisioning: pwmanager --provision <usernames-file> <vault-file> <AES|DES> [--passphrase] [--threads N]
+        if(args.length >= 4 && args[0].equals("--provision")) {
+            provision(scanner, args);
+            return;
+        }
+        
+        while(true) {
+            System.out.println("\nPassword Manager Menu:");
+            System.out.println("1. Save Passwords");
+            System.out.println("2. Retrieve Passwords");
+            System.out.println("3. Exit");
+            System.out.print("Enter your choice: ");
+            
+            int choice = scanner.nextInt();
+            scanner.nextLine(); // Consume newline
+            
+            switch(choice) {
+                case 1:
+                    manager.savePasswords(scanner);
+                    break;
+                case 2:
+                    manager.retrievePasswords(scanner);
+                    break;
+                case 3:
+                    // Return rather than exit, so MainMenu (or the tool server) keeps running.
+                    // The scanner is left open: closing it would close System.in for the caller too.
+                    System.out.println("Exiting...");
+                    return;
+                default:
+                    System.out.println("Invalid choice! Try again.");
+            }
+        }
+    }
+    
+    private static void provision(Scanner scanner, String[] args) {
+        boolean passphrase = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for(int i = 4; i < args.length; i++) {
+            if(args[i].equals("--passphrase")) {
+                passphrase = true;
+            } else if(args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            }
+        }
+        
+        System.out.print("Enter master password: ");
+        if(!PasswordVault.isMasterPassword(scanner.nextLine())) {
+            System.out.println("Incorrect master password!");
+            return;
+        }
+        
+        try {
+            // Generated passwords follow -Dqloak.policy=<file> when given, else the default strength policy
+            String policyFile = System.getProperty("qloak.policy");
+            StrengthEvaluator evaluator = policyFile == null
+                    ? new StrengthEvaluator()
+                    : new StrengthEvaluator(PasswordPolicy.load(Path.of(policyFile)).compile());
+            PasswordGenerator generator = new PasswordGenerator(evaluator);
+            PasswordGenerator.Mode mode = passphrase ? PasswordGenerator.Mode.passphrase(5) : PasswordGenerator.Mode.random(16);
+            
+            int count = new PasswordVault().provision(args[1], args[2], args[3].toUpperCase(), generator, mode, threads);
+            System.out.println("Provisioned " + count + " credential(s) into " + args[2]);
+        } catch (Exception e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.qloak.cli;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Scanner;
+
+import com.qloak.common.metrics.MetricsExporter;
+import com.qloak.strength.BatchStrengthEvaluator;
+import com.qloak.strength.BreachedPasswordCriterion;
+import com.qloak.strength.BreachedPasswordFilter;
+import com.qloak.strength.CompiledPolicy;
+import com.qloak.strength.Criterion;
+import com.qloak.strength.InvalidPasswordException;
+import com.qloak.strength.Pair;
+import com.qloak.strength.Password;
+import com.qloak.strength.PasswordGenerator;
+import com.qloak.strength.PasswordPolicy;
+import com.qloak.strength.PatternMatch;
+import com.qloak.strength.PatternScorer;
+import com.qloak.strength.StrengthAuditStats;
+import com.qloak.strength.StrengthEvaluator;
+import com.qloak.strength.StrengthScore;
+import com.qloak.strength.SuggestionReport;
+
+/**
+ * The main driver class for checking password strength.
+ * Handles user I/O, exception catching, and loops until a valid non-empty password is provided.
+ * Demonstrates exception handling with our custom InvalidPasswordException, prompting the user to re-enter if necessary.
+ */
+public class pwstrengthchecker {
+
+    public static void main(String[] args) {
+        MetricsExporter.startFromSystemProperties();
+
+        // Batch mode: pwstrengthchecker --batch <file|-> [--threads N] [--score] [--policy F] [--breach-filter F]
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            runBatch(args, System.in, System.out);
+            return;
+        }
+        // Generator: pwstrengthchecker --generate <count> [--length L] [--passphrase [--words W]] [--threads N]
+        //                                           [--out FILE] [--policy F]
+        if (args.length >= 2 && args[0].equals("--generate")) {
+            runGenerate(args, System.out);
+            return;
+        }
+        // Filter builder: pwstrengthchecker --build-breach-filter <list> <filter-file> [--fpp P] [--sha1]
+        if (args.length >= 3 && args[0].equals("--build-breach-filter")) {
+            runBuildBreachFilter(args, System.out);
+            return;
+        }
+
+        Scanner scanner = new Scanner(System.in);
+        Password password = null;
+
+        // Loop until we get a valid non-empty password (throws InvalidPasswordException otherwise)
+        while (password == null) {
+            System.out.print("Enter your password: ");
+            String input = scanner.nextLine();
+
+            try {
+                password = new Password(input);
+            } catch (InvalidPasswordException e) {
+                // Catch the custom exception and prompt again
+                System.out.println("Invalid input: " + e.getMessage());
+            }
+        }
+
+        // Once we have a valid Password object, evaluate its strength.
+        // Opt-in: -Dqloak.policy=<policy.properties> and/or -Dqloak.breachFilter=<filter-file>
+        StrengthEvaluator evaluator = createEvaluator(System.getProperty("qloak.policy"),
+                System.getProperty("qloak.breachFilter"), System.out);
+        printReport(password, evaluator, System.out);
+        // The scanner is not closed: it wraps System.in, which MainMenu still reads from
+    }
+
+    // Prints the rating, the pattern score and the improvement suggestions for one password
+    static void printReport(Password password, StrengthEvaluator evaluator, PrintStream out) {
+        Pair<String, SuggestionReport> result = evaluator.evaluate(password);
+
+        SuggestionReport report = result.getSecond();
+
+        // Pattern-based scoring catches what the rules can't (e.g., "Password1!" passes every rule)
+        StrengthScore score = PatternScorer.defaults().score(password.getRaw());
+        for (PatternMatch match : score.getSequence()) {
+            if (match.getFeedback() != null) {
+                report.addSuggestion(match.getFeedback());
+            }
+        }
+
+        // The overall rating is the weaker of the rule-based and the pattern-based label
+        List<String> ratings = StrengthEvaluator.RATINGS;
+        String rating = ratings.get(Math.min(ratings.indexOf(result.getFirst()), ratings.indexOf(score.getLabel())));
+
+        // Print out the simple rating
+        out.println("\nPassword Rating: " + rating);
+        out.printf("Pattern score: %d/4, estimated guesses: %.2e (%.1f bits; %.1f bits by character set)%n",
+                score.getScore(), score.getGuesses(), score.getEntropyBits(), score.getCharsetEntropyBits());
+
+        // If not “Strong,” print suggestions
+        if (report.hasSuggestions()) {
+            out.println("Suggestions to improve your password:");
+            List<String> suggestions = report.getSuggestions();  // Unmodifiable list from SuggestionReport
+            for (String suggestion : suggestions) {
+                out.println(" - " + suggestion);
+            }
+        } else {
+            out.println("Great job! Your password meets all strength criteria.");
+        }
+    }
+
+    /**
+     * Audits a newline-delimited password list (or stdin when the path is "-") and prints
+     * the rating histogram and how often each criterion failed.
+     */
+    static void runBatch(String[] args, InputStream stdin, PrintStream out) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean score = false;
+        String breachFilter = System.getProperty("qloak.breachFilter");
+        String policy = System.getProperty("qloak.policy");
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--score")) {
+                score = true;
+            } else if (args[i].equals("--breach-filter") && i + 1 < args.length) {
+                breachFilter = args[++i];
+            } else if (args[i].equals("--policy") && i + 1 < args.length) {
+                policy = args[++i];
+            }
+        }
+
+        StrengthEvaluator evaluator = createEvaluator(policy, breachFilter, out);
+        BatchStrengthEvaluator batch = new BatchStrengthEvaluator(evaluator, threads,
+                score ? PatternScorer.defaults() : null);
+
+        long start = System.nanoTime();
+        StrengthAuditStats stats;
+        try (InputStream in = args[1].equals("-") ? stdin : new FileInputStream(args[1])) {
+            stats = batch.evaluate(in);
+        } catch (IOException e) {
+            out.println("An I/O error occurred: " + e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            out.println("Batch evaluation interrupted.");
+            return;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long total = stats.getEvaluated();
+        out.printf("Evaluated %d passwords in %.2f s (%.0f/s), skipped %d blank lines%n",
+                total, seconds, total / seconds, stats.getSkipped());
+
+        out.println("\nRating histogram:");
+        for (int r = StrengthEvaluator.RATINGS.size() - 1; r >= 0; r--) {
+            long n = stats.getRatingCount(r);
+            out.printf("  %-9s %12d (%5.1f%%)%n", StrengthEvaluator.RATINGS.get(r), n, percent(n, total));
+        }
+
+        out.println("\nFailures per criterion:");
+        List<Criterion> criteria = evaluator.getCriteria();
+        for (int c = 0; c < criteria.size(); c++) {
+            long n = stats.getFailureCount(c);
+            out.printf("  %-26s %12d (%5.1f%%)  %s%n", criteria.get(c).getClass().getSimpleName(),
+                    n, percent(n, total), criteria.get(c).getSuggestion());
+        }
+
+        if (score) {
+            out.println("\nPattern score histogram:");
+            for (int sc = 4; sc >= 0; sc--) {
+                long n = stats.getScoreCount(sc);
+                out.printf("  %d/4 %-9s %12d (%5.1f%%)%n", sc, StrengthScore.labelFor(sc), n, percent(n, total));
+            }
+        }
+    }
+
+    // The given policy file (or the default policy), plus the breached-password check when a filter file is given
+    static StrengthEvaluator createEvaluator(String policyPath, String breachFilterPath, PrintStream out) {
+        CompiledPolicy policy = CompiledPolicy.defaults();
+        if (policyPath != null) {
+            try {
+                policy = PasswordPolicy.load(Path.of(policyPath)).compile();
+            } catch (IOException | IllegalArgumentException e) {
+                out.println("Could not load policy (" + e.getMessage() + "); using the default policy.");
+            }
+        }
+        if (breachFilterPath != null) {
+            try {
+                BreachedPasswordFilter filter = BreachedPasswordFilter.open(Path.of(breachFilterPath));
+                policy = policy.with(List.of(new BreachedPasswordCriterion(filter)));
+            } catch (IOException e) {
+                out.println("Could not open breach filter (" + e.getMessage() + "); skipping breach check.");
+            }
+        }
+        return new StrengthEvaluator(policy);
+    }
+
+    static void runBuildBreachFilter(String[] args, PrintStream out) {
+        double fpp = 0.001;
+        boolean sha1Input = false;
+        for (int i = 3; i < args.length; i++) {
+            if (args[i].equals("--fpp") && i + 1 < args.length) {
+                fpp = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--sha1")) {
+                sha1Input = true;
+            }
+        }
+        try {
+            long start = System.nanoTime();
+            BreachedPasswordFilter filter = BreachedPasswordFilter.build(Path.of(args[1]), Path.of(args[2]), fpp, sha1Input);
+            out.printf("Built filter with %d entries, %d hash functions, %.1f MiB in %.1f s%n",
+                    filter.getEntryCount(), filter.getHashCount(), filter.getBitCount() / 8.0 / (1 << 20),
+                    (System.nanoTime() - start) / 1e9);
+        } catch (IOException | IllegalArgumentException e) {
+            out.println("Error: " + e.getMessage());
+        }
+    }
+
+    static void runGenerate(String[] args, PrintStream out) {
+        long count = Long.parseLong(args[1]);
+        int length = 16;
+        int words = 5;
+        boolean passphrase = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outFile = null;
+        String policy = System.getProperty("qloak.policy");
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--length") && i + 1 < args.length) {
+                length = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--passphrase")) {
+                passphrase = true;
+            } else if (args[i].equals("--words") && i + 1 < args.length) {
+                words = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--threads") && i + 1 < args.length) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--out") && i + 1 < args.length) {
+                outFile = args[++i];
+            } else if (args[i].equals("--policy") && i + 1 < args.length) {
+                policy = args[++i];
+            }
+        }
+
+        PasswordGenerator generator = new PasswordGenerator(createEvaluator(policy, null, out));
+        PasswordGenerator.Mode mode = passphrase
+                ? PasswordGenerator.Mode.passphrase(words)
+                : PasswordGenerator.Mode.random(length);
+        long start = System.nanoTime();
+        try {
+            if (outFile == null) {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                generator.generateBulk(count, mode, threads, writer);
+                writer.flush();
+            } else {
+                try (BufferedWriter writer = Files.newBufferedWriter(Path.of(outFile), StandardCharsets.UTF_8)) {
+                    generator.generateBulk(count, mode, threads, writer);
+                }
+                out.printf("Generated %d passwords in %.2f s%n", count, (System.nanoTime() - start) / 1e9);
+            }
+        } catch (IOException e) {
+            out.println("An I/O error occurred: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            out.println("Cannot generate passwords: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            out.println("Generation interrupted.");
+        }
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0.0 : part * 100.0 / total;
+    }
+}
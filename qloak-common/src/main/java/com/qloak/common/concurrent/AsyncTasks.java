@@ -0,0 +1,99 @@
+package com.qloak.common.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors and CompletableFuture adapters for the blocking file operations.
+ *
+ * On JDK 21+ the default executor starts one virtual thread per task, so thousands of
+ * files can be in flight without a platform thread each; on older JDKs it is a fixed pool
+ * of daemon threads, one per core. -Dqloak.executor=platform forces the pool.
+ */
+public final class AsyncTasks {
+    private static volatile ExecutorService shared;
+
+    private AsyncTasks() {
+    }
+
+    // The process-wide default executor, created on first use
+    public static ExecutorService defaultExecutor() {
+        ExecutorService executor = shared;
+        if (executor == null) {
+            synchronized (AsyncTasks.class) {
+                executor = shared;
+                if (executor == null) {
+                    executor = newExecutor("qloak-async");
+                    shared = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * A new executor: virtual-thread-per-task when the JDK has it (and it isn't disabled
+     * with -Dqloak.executor=platform), else a fixed pool of daemon threads named prefix-N.
+     */
+    public static ExecutorService newExecutor(String prefix) {
+        if (!"platform".equals(System.getProperty("qloak.executor"))) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+        }
+        return newPlatformExecutor(prefix, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static ExecutorService newPlatformExecutor(String prefix, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() via reflection, since we compile for 17; null if absent
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs a blocking call on the executor. Cancelling the returned future interrupts the
+     * worker thread, which the file operations check between chunks.
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call, ExecutorService executor) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,136 @@
+package com.qloak.common.concurrent;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Publishes the result of a FileTask for each file of a list, running at most
+ * maxConcurrency tasks at a time and never more than the subscriber has requested.
+ *
+ * Results arrive in completion order, not list order. A task that throws produces a
+ * failed FileResult and the stream goes on; onError is only used for protocol errors and
+ * a rejected submission. Cancelling the subscription interrupts the running tasks. Each
+ * subscriber gets its own run over the files.
+ */
+public final class FilePublisher<T> implements Flow.Publisher<FileResult<T>> {
+    private final List<File> files;
+    private final FileTask<T> task;
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+    private final ProgressListener progress;
+
+    /**
+     * @param progress called with (files completed, total files) after each result
+     */
+    public FilePublisher(List<File> files, FileTask<T> task, ExecutorService executor,
+                         int maxConcurrency, ProgressListener progress) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.files = List.copyOf(files);
+        this.task = Objects.requireNonNull(task);
+        this.executor = Objects.requireNonNull(executor);
+        this.maxConcurrency = maxConcurrency;
+        this.progress = progress != null ? progress : ProgressListener.NONE;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super FileResult<T>> subscriber) {
+        FileSubscription subscription = new FileSubscription(Objects.requireNonNull(subscriber));
+        subscriber.onSubscribe(subscription);
+        if (files.isEmpty()) {
+            subscription.complete();
+        }
+    }
+
+    // All state is guarded by the subscription's monitor, which also serializes the subscriber's signals
+    private final class FileSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super FileResult<T>> subscriber;
+        private final Map<Integer, Future<?>> running = new HashMap<>();
+        private long demand;
+        private int next;
+        private int completed;
+        private boolean done;
+
+        FileSubscription(Flow.Subscriber<? super FileResult<T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("request must be positive, was " + n));
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            drain();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            done = true;
+            for (Future<?> future : running.values()) {
+                future.cancel(true);
+            }
+            running.clear();
+        }
+
+        synchronized void complete() {
+            if (!done) {
+                done = true;
+                subscriber.onComplete();
+            }
+        }
+
+        // Starts tasks while there is requested demand not yet covered by running tasks
+        private void drain() {
+            while (!done && next < files.size() && running.size() < maxConcurrency && running.size() < demand) {
+                int index = next++;
+                File file = files.get(index);
+                try {
+                    running.put(index, executor.submit(() -> run(index, file)));
+                } catch (RejectedExecutionException e) {
+                    cancel();
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void run(int index, File file) {
+            FileResult<T> result;
+            try {
+                result = FileResult.success(file, task.apply(file, ProgressListener.NONE));
+            } catch (Throwable e) {
+                result = FileResult.failure(file, e);
+            }
+            deliver(index, result);
+        }
+
+        private synchronized void deliver(int index, FileResult<T> result) {
+            if (done) {
+                return;
+            }
+            running.remove(index);
+            demand--;
+            completed++;
+            subscriber.onNext(result);
+            progress.onProgress(completed, files.size());
+            if (completed == files.size()) {
+                complete();
+            } else {
+                drain();
+            }
+        }
+    }
+}
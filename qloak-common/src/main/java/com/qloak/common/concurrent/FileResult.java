@@ -0,0 +1,50 @@
+package com.qloak.common.concurrent;
+
+import java.io.File;
+
+/**
+ * The outcome of a FileTask for one file of a stream: either a value or the exception it
+ * threw. A failed file does not terminate the stream.
+ */
+public final class FileResult<T> {
+    private final File file;
+    private final T value;
+    private final Throwable error;
+
+    private FileResult(File file, T value, Throwable error) {
+        this.file = file;
+        this.value = value;
+        this.error = error;
+    }
+
+    public static <T> FileResult<T> success(File file, T value) {
+        return new FileResult<>(file, value, null);
+    }
+
+    public static <T> FileResult<T> failure(File file, Throwable error) {
+        return new FileResult<>(file, null, error);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    // null if the task failed
+    public T getValue() {
+        return value;
+    }
+
+    // null if the task succeeded
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return file + (isSuccess() ? ": " + value : ": failed (" + error + ")");
+    }
+}
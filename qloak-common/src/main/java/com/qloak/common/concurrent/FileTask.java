@@ -0,0 +1,12 @@
+package com.qloak.common.concurrent;
+
+import java.io.File;
+
+/**
+ * One blocking operation on one file (hash it, sanitize it, ...), run by AsyncTasks or
+ * FilePublisher on a worker thread.
+ */
+@FunctionalInterface
+public interface FileTask<T> {
+    T apply(File file, ProgressListener progress) throws Exception;
+}
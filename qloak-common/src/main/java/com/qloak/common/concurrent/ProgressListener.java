@@ -0,0 +1,14 @@
+package com.qloak.common.concurrent;
+
+/**
+ * Receives progress of a long-running operation: bytes processed for a single file, or
+ * files completed for a stream of files. Called from the worker thread, so it must be
+ * cheap and thread-safe.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+    ProgressListener NONE = (done, total) -> { };
+
+    // total is -1 when it is not known up front
+    void onProgress(long done, long total);
+}
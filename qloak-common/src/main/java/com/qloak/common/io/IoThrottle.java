@@ -0,0 +1,184 @@
+package com.qloak.common.io;
+
+import java.io.InterruptedIOException;
+import java.util.Locale;
+
+import com.qloak.common.metrics.LatencyHistogram;
+import com.qloak.common.metrics.MetricsRegistry;
+
+/**
+ * Token-bucket limiter for disk bandwidth (bytes/s) and IOPS, shared by every throttled
+ * stream in the process.
+ *
+ * Each I/O takes one operation token and one token per byte. A bucket may go into debt,
+ * so a large block is never split to fit the bucket: it is admitted as soon as the bucket
+ * is non-negative, and the following requests wait until the debt is repaid. Under an
+ * IOPS limit this makes few large blocks strictly cheaper than many small ones, which is
+ * why the throttled streams read and write in blocks of getBlockSize(). A read whose size
+ * is only known once it returns takes its operation token with acquire(priority, 0) and
+ * pays for the bytes it actually got with charge().
+ *
+ * INTERACTIVE requests go first: BACKGROUND requests wait while any interactive request
+ * is waiting. Limits can be changed at any time and apply to waiters immediately; 0 means
+ * unlimited, and with both limits at 0 acquire() returns without locking.
+ *
+ * The global instance reads -Dqloak.io.bytesPerSecond (suffixes K, M, G),
+ * -Dqloak.io.opsPerSecond and -Dqloak.io.blockSize (default 1M).
+ */
+public final class IoThrottle {
+    public enum Priority { INTERACTIVE, BACKGROUND }
+
+    private static final IoThrottle GLOBAL = new IoThrottle(
+            parseSize(System.getProperty("qloak.io.bytesPerSecond", "0")),
+            parseSize(System.getProperty("qloak.io.opsPerSecond", "0")),
+            (int) parseSize(System.getProperty("qloak.io.blockSize", "1M")));
+    private static final LatencyHistogram WAITS =
+            MetricsRegistry.global().histogram("qloak_io_throttle_wait_seconds");
+
+    private final int blockSize;
+    private volatile long bytesPerSecond;
+    private volatile long opsPerSecond;
+    // Guarded by this
+    private double byteTokens;
+    private double opTokens;
+    private long lastRefill = System.nanoTime();
+    private int interactiveWaiting;
+
+    public IoThrottle(long bytesPerSecond, long opsPerSecond, int blockSize) {
+        if (blockSize < 4096) {
+            throw new IllegalArgumentException("blockSize must be at least 4096");
+        }
+        this.blockSize = blockSize;
+        setLimits(bytesPerSecond, opsPerSecond);
+    }
+
+    // The process-wide limiter used by FileHashCalculator, MetadataRemover and the batch jobs
+    public static IoThrottle global() {
+        return GLOBAL;
+    }
+
+    // Changes both limits (0 = unlimited); waiting requests are re-evaluated at once
+    public synchronized void setLimits(long bytesPerSecond, long opsPerSecond) {
+        if (bytesPerSecond < 0 || opsPerSecond < 0) {
+            throw new IllegalArgumentException("Limits cannot be negative");
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.opsPerSecond = opsPerSecond;
+        // Start from a full bucket (one second of burst) under the new limits
+        byteTokens = bytesPerSecond;
+        opTokens = opsPerSecond;
+        lastRefill = System.nanoTime();
+        notifyAll();
+    }
+
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public long getOpsPerSecond() {
+        return opsPerSecond;
+    }
+
+    // The block size throttled streams use for each physical read or write
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public boolean isLimited() {
+        return bytesPerSecond > 0 || opsPerSecond > 0;
+    }
+
+    /**
+     * Blocks until one I/O of byteCount bytes may proceed at the given priority.
+     * Throws InterruptedIOException (with the interrupt flag set) if interrupted.
+     */
+    public void acquire(Priority priority, long byteCount) throws InterruptedIOException {
+        if (!isLimited()) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (this) {
+            boolean interactive = priority == Priority.INTERACTIVE;
+            if (interactive) {
+                interactiveWaiting++;
+            }
+            try {
+                while (true) {
+                    refill();
+                    long waitNanos;
+                    if (!interactive && interactiveWaiting > 0) {
+                        waitNanos = 1_000_000;
+                    } else {
+                        waitNanos = Math.max(deficitNanos(byteTokens, bytesPerSecond), deficitNanos(opTokens, opsPerSecond));
+                        if (waitNanos == 0) {
+                            if (bytesPerSecond > 0) {
+                                byteTokens -= byteCount;
+                            }
+                            if (opsPerSecond > 0) {
+                                opTokens -= 1;
+                            }
+                            break;
+                        }
+                    }
+                    wait(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for I/O budget");
+            } finally {
+                if (interactive) {
+                    interactiveWaiting--;
+                    notifyAll();
+                }
+            }
+        }
+        long waited = System.nanoTime() - start;
+        if (waited > 1_000_000) {
+            WAITS.record(waited);
+        }
+    }
+
+    // Takes byteCount byte tokens for I/O already admitted by acquire(); never waits, the debt delays later requests
+    public void charge(long byteCount) {
+        if (bytesPerSecond == 0 || byteCount <= 0) {
+            return;
+        }
+        synchronized (this) {
+            refill();
+            byteTokens -= byteCount;
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double seconds = (now - lastRefill) / 1e9;
+        lastRefill = now;
+        byteTokens = Math.min(bytesPerSecond, byteTokens + seconds * bytesPerSecond);
+        opTokens = Math.min(opsPerSecond, opTokens + seconds * opsPerSecond);
+    }
+
+    // Time until a bucket with the given tokens is non-negative again; 0 if unlimited or already there
+    private static long deficitNanos(double tokens, long perSecond) {
+        if (perSecond == 0 || tokens >= 0) {
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil(-tokens / perSecond * 1e9));
+    }
+
+    // "0", "500", "64K", "50M", "1G" (binary multiples)
+    public static long parseSize(String value) {
+        String text = value.trim().toUpperCase(Locale.ROOT);
+        long multiplier = 1;
+        if (text.endsWith("K")) {
+            multiplier = 1L << 10;
+        } else if (text.endsWith("M")) {
+            multiplier = 1L << 20;
+        } else if (text.endsWith("G")) {
+            multiplier = 1L << 30;
+        }
+        if (multiplier > 1) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return Long.parseLong(text) * multiplier;
+    }
+}
@@ -0,0 +1,92 @@
+package com.qloak.common.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the underlying stream in large sequential blocks (IoThrottle.getBlockSize()).
+ * Each read takes an operation token from the throttle before it starts and is charged
+ * for the bytes it returned afterwards, so a short read near the end of a file, or one
+ * that hits end of stream, does not cost a whole block of bandwidth. Reads of at least 8 KiB
+ * go straight into the caller's array, up to one block at a time; smaller reads are
+ * served from a block that is only allocated once such a read happens, so wrapping many
+ * small files does not cost a block each.
+ */
+public class ThrottledInputStream extends FilterInputStream {
+    private final IoThrottle throttle;
+    private final IoThrottle.Priority priority;
+    private static final int DIRECT_READ = 8192;
+
+    private final int blockSize;
+    private byte[] block;
+    private int position;
+    private int limit;
+
+    public ThrottledInputStream(InputStream in, IoThrottle throttle, IoThrottle.Priority priority) {
+        super(in);
+        this.throttle = throttle;
+        this.priority = priority;
+        this.blockSize = throttle.getBlockSize();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return block[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit) {
+            if (len >= DIRECT_READ) {
+                // Large reads go straight into the caller's array, at most one budgeted block at a time
+                throttle.acquire(priority, 0);
+                int read = in.read(b, off, Math.min(len, blockSize));
+                throttle.charge(read);
+                return read;
+            }
+            if (!fill()) {
+                return -1;
+            }
+        }
+        int count = Math.min(len, limit - position);
+        System.arraycopy(block, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long buffered = Math.min(n, limit - position);
+        position += (int) buffered;
+        return buffered + (n > buffered ? in.skip(n - buffered) : 0);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (limit - position) + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private boolean fill() throws IOException {
+        if (block == null) {
+            block = new byte[blockSize];
+        }
+        throttle.acquire(priority, 0);
+        int read = in.read(block, 0, block.length);
+        throttle.charge(read);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
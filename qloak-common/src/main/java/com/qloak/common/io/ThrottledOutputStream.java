@@ -0,0 +1,84 @@
+package com.qloak.common.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Collects writes into blocks of IoThrottle.getBlockSize() and writes each block to the
+ * underlying stream after taking the throttle's budget for it. flush() writes the partial
+ * block; close() flushes and closes the underlying stream. The buffer starts small and
+ * grows to a full block only if that much is written, so short outputs stay cheap.
+ */
+public class ThrottledOutputStream extends FilterOutputStream {
+    private final IoThrottle throttle;
+    private final IoThrottle.Priority priority;
+    private final int blockSize;
+    private byte[] block;
+    private int count;
+
+    public ThrottledOutputStream(OutputStream out, IoThrottle throttle, IoThrottle.Priority priority) {
+        super(out);
+        this.throttle = throttle;
+        this.priority = priority;
+        this.blockSize = throttle.getBlockSize();
+        this.block = new byte[Math.min(8192, blockSize)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == block.length) {
+            if (block.length < blockSize) {
+                grow(count + 1);
+            } else {
+                writeBlock();
+            }
+        }
+        block[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == 0 && len >= blockSize) {
+                // Whole blocks bypass the copy
+                throttle.acquire(priority, blockSize);
+                out.write(b, off, blockSize);
+                off += blockSize;
+                len -= blockSize;
+                continue;
+            }
+            if (block.length - count < len && block.length < blockSize) {
+                grow(count + len);
+            }
+            int take = Math.min(len, block.length - count);
+            System.arraycopy(b, off, block, count, take);
+            count += take;
+            off += take;
+            len -= take;
+            if (count == blockSize) {
+                writeBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            writeBlock();
+        }
+        out.flush();
+    }
+
+    // At least doubles the buffer, up to one block
+    private void grow(int needed) {
+        block = Arrays.copyOf(block, (int) Math.min(blockSize, Math.max(block.length * 2L, needed)));
+    }
+
+    private void writeBlock() throws IOException {
+        throttle.acquire(priority, count);
+        out.write(block, 0, count);
+        count = 0;
+    }
+}
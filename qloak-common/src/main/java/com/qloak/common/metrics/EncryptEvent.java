@@ -0,0 +1,29 @@
+package com.qloak.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event for one vault encryption or decryption; never carries the plaintext or the key
+@Name("com.qloak.Encrypt")
+@Label("Vault Encryption")
+@Category({"Qloak", "Vault"})
+@Description("Encryption or decryption of one stored password")
+@StackTrace(false)
+public class EncryptEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Decrypt")
+    public boolean decrypt;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,27 @@
+package com.qloak.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event for a strength evaluation (one password, or a whole batch); never carries the password
+@Name("com.qloak.Evaluate")
+@Label("Strength Evaluation")
+@Category({"Qloak", "Strength"})
+@Description("Password strength evaluation against a policy")
+@StackTrace(false)
+public class EvaluateEvent extends jdk.jfr.Event {
+    @Label("Policy")
+    public String policy;
+
+    @Label("Passwords")
+    public long passwords;
+
+    @Label("Rating")
+    public String rating;
+
+    @Label("Failed Criteria")
+    public int failures;
+}
@@ -0,0 +1,29 @@
+package com.qloak.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event for one file checksum; enable with -XX:StartFlightRecording or "jcmd <pid> JFR.start"
+@Name("com.qloak.Hash")
+@Label("File Hash")
+@Category({"Qloak", "Integrity"})
+@Description("Checksum calculation of one file")
+@StackTrace(false)
+public class HashEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,88 @@
+package com.qloak.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent latency histogram with log-linear buckets (about 3% relative precision).
+ * Recording is two LongAdder increments (bucket and running total), so it stays cheap under contention.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        counts[indexOf(nanos)].increment();
+        totalNanos.add(nanos);
+    }
+
+    public long count() {
+        long total = 0;
+        for (LongAdder c : counts) {
+            total += c.sum();
+        }
+        return total;
+    }
+
+    // Sum of all recorded values, in nanoseconds
+    public long sum() {
+        return totalNanos.sum();
+    }
+
+    // Upper bound of the bucket holding the given percentile, in nanoseconds
+    public long percentile(double percentile) {
+        return percentiles(percentile)[0];
+    }
+
+    // Several percentiles read from one consistent pass over the buckets
+    public long[] percentiles(double... percentiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+            total += snapshot[i];
+        }
+        long[] result = new long[percentiles.length];
+        if (total == 0) {
+            return result;
+        }
+        for (int p = 0; p < percentiles.length; p++) {
+            long target = Math.max(1, (long) Math.ceil(total * percentiles[p] / 100.0));
+            long seen = 0;
+            int i = 0;
+            while (i < BUCKETS - 1 && (seen += snapshot[i]) < target) {
+                i++;
+            }
+            result[p] = upperBound(i);
+        }
+        return result;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int mantissa = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
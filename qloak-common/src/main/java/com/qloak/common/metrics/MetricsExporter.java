@@ -0,0 +1,154 @@
+package com.qloak.common.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes a MetricsRegistry as Prometheus text exposition format or as JSON.
+ *
+ * Files are replaced atomically (written next to the target, then renamed), so a collector
+ * such as the node_exporter textfile collector never reads a half-written snapshot.
+ * Histograms are exported as summaries: count, sum and a fixed set of quantiles, in seconds.
+ *
+ * The tools opt in with system properties:
+ *   -Dqloak.metrics.file=/var/lib/node_exporter/qloak.prom   target file
+ *   -Dqloak.metrics.format=prometheus|json                   default: json if the file ends in .json
+ *   -Dqloak.metrics.interval=15                              seconds between snapshots
+ * A final snapshot is written when the JVM shuts down.
+ */
+public final class MetricsExporter {
+    public enum Format { PROMETHEUS, JSON }
+
+    private static final double[] QUANTILES = {50, 90, 99, 99.9};
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+
+    private MetricsExporter() {}
+
+    /**
+     * Starts periodic export as configured by the qloak.metrics.* system properties.
+     * Does nothing when qloak.metrics.file is unset; calling it again is a no-op.
+     */
+    public static void startFromSystemProperties() {
+        String file = System.getProperty("qloak.metrics.file");
+        if (file == null || file.isEmpty() || !STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        Path path = Path.of(file);
+        String formatName = System.getProperty("qloak.metrics.format",
+                file.endsWith(".json") ? "json" : "prometheus");
+        Format format = Format.valueOf(formatName.toUpperCase(Locale.ROOT));
+        long interval = Long.getLong("qloak.metrics.interval", 15);
+
+        MetricsRegistry registry = MetricsRegistry.global();
+        Runnable export = () -> {
+            try {
+                export(registry, format, path);
+            } catch (IOException e) {
+                System.err.println("Could not write metrics to " + path + ": " + e.getMessage());
+            }
+        };
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "qloak-metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(export, interval, interval, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(export, "qloak-metrics-final-export"));
+    }
+
+    // Writes one snapshot to the file, replacing it atomically
+    public static void export(MetricsRegistry registry, Format format, Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                write(registry, format, writer);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static void write(MetricsRegistry registry, Format format, Writer out) throws IOException {
+        if (format == Format.PROMETHEUS) {
+            writePrometheus(registry, out);
+        } else {
+            writeJson(registry, out);
+        }
+    }
+
+    public static String toString(MetricsRegistry registry, Format format) {
+        StringWriter out = new StringWriter();
+        try {
+            write(registry, format, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static void writePrometheus(MetricsRegistry registry, Writer out) throws IOException {
+        for (Map.Entry<String, LongAdder> counter : registry.getCounters().entrySet()) {
+            out.write("# TYPE " + counter.getKey() + " counter\n");
+            out.write(counter.getKey() + " " + counter.getValue().sum() + "\n");
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            String name = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            long[] values = histogram.percentiles(QUANTILES);
+            out.write("# TYPE " + name + " summary\n");
+            for (int q = 0; q < QUANTILES.length; q++) {
+                out.write(name + "{quantile=\"" + BigDecimal.valueOf(QUANTILES[q]).movePointLeft(2).stripTrailingZeros().toPlainString() + "\"} " + seconds(values[q]) + "\n");
+            }
+            out.write(name + "_sum " + seconds(histogram.sum()) + "\n");
+            out.write(name + "_count " + histogram.count() + "\n");
+        }
+    }
+
+    private static void writeJson(MetricsRegistry registry, Writer out) throws IOException {
+        out.write("{\n  \"timestamp\": " + System.currentTimeMillis() + ",\n  \"counters\": {");
+        String separator = "\n";
+        for (Map.Entry<String, LongAdder> counter : registry.getCounters().entrySet()) {
+            out.write(separator + "    \"" + counter.getKey() + "\": " + counter.getValue().sum());
+            separator = ",\n";
+        }
+        out.write("\n  },\n  \"histograms\": {");
+        separator = "\n";
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long[] values = histogram.percentiles(QUANTILES);
+            out.write(separator + "    \"" + entry.getKey() + "\": {\"count\": " + histogram.count()
+                    + ", \"sum\": " + seconds(histogram.sum()));
+            for (int q = 0; q < QUANTILES.length; q++) {
+                out.write(", \"p" + format(QUANTILES[q]) + "\": " + seconds(values[q]));
+            }
+            out.write("}");
+            separator = ",\n";
+        }
+        out.write("\n  }\n}\n");
+    }
+
+    private static String seconds(long nanos) {
+        return format(nanos / 1e9);
+    }
+
+    // Shortest plain decimal form: 0.5, 99.9, 1.2E-5 becomes 0.000012
+    private static String format(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
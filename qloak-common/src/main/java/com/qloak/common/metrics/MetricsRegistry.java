@@ -0,0 +1,44 @@
+package com.qloak.common.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named counters and latency histograms shared by all tools in the process.
+ * Recorders are created on first use and live for the life of the registry, so call sites
+ * look them up once (typically into a static final field) and then only pay for the
+ * LongAdder update on the hot path.
+ *
+ * Names follow the Prometheus conventions: counters end in "_total", histograms of
+ * durations end in "_seconds" (values are recorded in nanoseconds and converted on export).
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    // The process-wide registry used by the built-in instrumentation
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    // Sorted views for exporters
+    public Map<String, LongAdder> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+}
@@ -0,0 +1,46 @@
+package com.qloak.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The standard recorders of one kind of operation (hash, sanitize, encrypt, ...):
+ * operation, error and byte counters plus a duration histogram, all registered under
+ * "qloak_<operation>_..." in the global registry.
+ */
+public final class OperationMetrics {
+    private final LongAdder operations;
+    private final LongAdder errors;
+    private final LongAdder bytes;
+    private final LatencyHistogram duration;
+
+    private OperationMetrics(MetricsRegistry registry, String operation) {
+        String prefix = "qloak_" + operation;
+        this.operations = registry.counter(prefix + "_operations_total");
+        this.errors = registry.counter(prefix + "_errors_total");
+        this.bytes = registry.counter(prefix + "_bytes_total");
+        this.duration = registry.histogram(prefix + "_duration_seconds");
+    }
+
+    public static OperationMetrics of(String operation) {
+        return new OperationMetrics(MetricsRegistry.global(), operation);
+    }
+
+    // Records one finished operation that started at startNanos (a System.nanoTime() value)
+    public void record(long startNanos, long byteCount, boolean succeeded) {
+        duration.record(System.nanoTime() - startNanos);
+        operations.increment();
+        if (byteCount > 0) {
+            bytes.add(byteCount);
+        }
+        if (!succeeded) {
+            errors.increment();
+        }
+    }
+
+    // Bulk form for batch callers that time a whole run rather than each item
+    public void recordBatch(long count, long byteCount, long errorCount) {
+        operations.add(count);
+        bytes.add(byteCount);
+        errors.add(errorCount);
+    }
+}
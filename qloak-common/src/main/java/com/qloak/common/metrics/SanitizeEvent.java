@@ -0,0 +1,33 @@
+package com.qloak.common.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JFR event for one metadata removal
+@Name("com.qloak.Sanitize")
+@Label("Metadata Removal")
+@Category({"Qloak", "Metadata"})
+@Description("Metadata removal from one PDF, image or DOCX file")
+@StackTrace(false)
+public class SanitizeEvent extends jdk.jfr.Event {
+    @Label("Path")
+    public String path;
+
+    @Label("File Type")
+    public String fileType;
+
+    @Label("Bytes Read")
+    @DataAmount
+    public long bytesIn;
+
+    @Label("Bytes Written")
+    @DataAmount
+    public long bytesOut;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,127 @@
+package com.qloak.common.net;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+
+import jdk.net.ExtendedSocketOptions;
+import jdk.net.UnixDomainPrincipal;
+
+/**
+ * Unix-domain server sockets that only their owner can use.
+ *
+ * bindPrivate() binds the socket inside a fresh owner-only (0700) directory, makes it
+ * rw------- and only then links it to its public path, so no other user ever sees it
+ * with looser permissions. Servers should also check isOwner() on every accepted
+ * connection: peer credentials are enforced even where file permissions on sockets are
+ * not. An existing file at the path is only removed if it is a socket nobody is
+ * listening on; anything else makes bindPrivate() fail.
+ */
+public final class LocalSockets {
+    private static final int S_IFMT = 0170000;
+    private static final int S_IFSOCK = 0140000;
+
+    private LocalSockets() {
+    }
+
+    public static ServerSocketChannel bindPrivate(Path socketPath) throws IOException {
+        removeStaleSocket(socketPath);
+        Path parent = socketPath.toAbsolutePath().getParent();
+        Path privateDir;
+        try {
+            privateDir = Files.createTempDirectory(parent, ".qloak-sock",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system; bind in place and rely on the peer check
+            ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socketPath));
+            return server;
+        }
+
+        Path bound = privateDir.resolve("s");
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(bound));
+            Files.setPosixFilePermissions(bound, PosixFilePermissions.fromString("rw-------"));
+            // A hard link, unlike a rename, fails instead of replacing a file created there meanwhile
+            Files.createLink(socketPath, bound);
+            return server;
+        } catch (IOException | RuntimeException e) {
+            server.close();
+            throw e;
+        } finally {
+            Files.deleteIfExists(bound);
+            Files.deleteIfExists(privateDir);
+        }
+    }
+
+    // The user a socket created by bindPrivate() belongs to, for isOwner()
+    public static UserPrincipal ownerOf(Path socketPath) throws IOException {
+        return Files.getOwner(socketPath, LinkOption.NOFOLLOW_LINKS);
+    }
+
+    /**
+     * Whether the connected peer runs as the given user. Platforms without peer credentials
+     * rely on the socket's permissions alone and always pass.
+     */
+    public static boolean isOwner(SocketChannel client, UserPrincipal owner) {
+        try {
+            UnixDomainPrincipal peer = client.getOption(ExtendedSocketOptions.SO_PEERCRED);
+            return peer.user().equals(owner) || peer.user().getName().equals(owner.getName());
+        } catch (UnsupportedOperationException e) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Deletes the socket file on shutdown, but only if it is still a socket
+    public static void deleteSocket(Path socketPath) throws IOException {
+        if (isSocket(socketPath)) {
+            Files.deleteIfExists(socketPath);
+        }
+    }
+
+    private static void removeStaleSocket(Path socketPath) throws IOException {
+        if (!Files.exists(socketPath, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        if (!isSocket(socketPath)) {
+            throw new IOException(socketPath + " exists and is not a socket; refusing to replace it");
+        }
+        boolean listening;
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+            listening = true;
+        } catch (IOException e) {
+            // Nobody is listening: a leftover from a server that did not shut down cleanly
+            listening = false;
+        }
+        if (listening) {
+            throw new IOException(socketPath + " is in use by a running server");
+        }
+        Files.deleteIfExists(socketPath);
+    }
+
+    private static boolean isSocket(Path path) throws IOException {
+        try {
+            Object mode = Files.getAttribute(path, "unix:mode", LinkOption.NOFOLLOW_LINKS);
+            return ((Integer) mode & S_IFMT) == S_IFSOCK;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (UnsupportedOperationException | IllegalArgumentException e) {
+            // No unix view: sockets are at least neither files, directories nor links
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return attrs.isOther();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.qloak.integrity;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+
+import com.qloak.common.concurrent.AsyncTasks;
+import com.qloak.common.concurrent.FilePublisher;
+import com.qloak.common.concurrent.FileResult;
+import com.qloak.common.concurrent.ProgressListener;
+
+/**
+ * Non-blocking front end for FileHashCalculator and ChecksumFileManager.
+ *
+ * Every call runs on the service's executor (AsyncTasks.defaultExecutor() unless one is
+ * given) and completes its future with the result or the checked exception the blocking
+ * call would have thrown. Cancelling a future interrupts the hash between chunks.
+ */
+public class AsyncChecksumService {
+    private final FileHashCalculator calculator = new FileHashCalculator();
+    private final ChecksumFileManager fileManager = new ChecksumFileManager();
+    private final ExecutorService executor;
+
+    public AsyncChecksumService() {
+        this(AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncChecksumService(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // SHA-256 of the file as lowercase hex
+    public CompletableFuture<String> checksum(File file) {
+        return checksum(file, ProgressListener.NONE);
+    }
+
+    public CompletableFuture<String> checksum(File file, ProgressListener progress) {
+        return AsyncTasks.supply(() -> calculator.generateChecksum(file, progress), executor);
+    }
+
+    // Hashes the file and saves <directory>/<name>.sha256; completes with the checksum
+    public CompletableFuture<String> saveChecksum(File file, File directory, ProgressListener progress) {
+        return AsyncTasks.supply(() -> {
+            String checksum = calculator.generateChecksum(file, progress);
+            fileManager.saveChecksumToDirectory(file, directory.getPath(), checksum);
+            return checksum;
+        }, executor);
+    }
+
+    // true if the file still matches the .sha256 saved next to it
+    public CompletableFuture<Boolean> verify(File file, ProgressListener progress) {
+        return AsyncTasks.supply(() -> fileManager.verifyChecksum(file, calculator, progress), executor);
+    }
+
+    /**
+     * Streams the checksum of each file, hashing at most maxConcurrency files at a time.
+     * The progress listener is told (files done, total files).
+     */
+    public Flow.Publisher<FileResult<String>> checksums(List<File> files, int maxConcurrency, ProgressListener progress) {
+        return new FilePublisher<>(files, calculator::generateChecksum, executor, maxConcurrency, progress);
+    }
+
+    // Streams verify results for each file, as checksums(...) does
+    public Flow.Publisher<FileResult<Boolean>> verifyAll(List<File> files, int maxConcurrency, ProgressListener progress) {
+        return new FilePublisher<>(files, (file, fileProgress) -> fileManager.verifyChecksum(file, calculator, fileProgress),
+                executor, maxConcurrency, progress);
+    }
+}
@@ -0,0 +1,62 @@
+package com.qloak.integrity;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+
+import com.qloak.common.concurrent.ProgressListener;
+
+// Class to manage saving and verifying checksum files
+public class ChecksumFileManager {
+
+    // Constructor
+    public ChecksumFileManager() {}
+
+    // Method to save checksum in a .sha256 file
+    public void saveChecksumToDirectory(File file, String directoryPath, String checksum) throws IOException {
+
+        // Get original file name
+        String originalFileName = file.getName();
+
+        // Build full path: directory + filename + ".sha256"
+        File checksumFile = new File(directoryPath + File.separator + originalFileName + ".sha256");
+
+        // Write checksum to file
+        try (FileWriter writer = new FileWriter(checksumFile)) {
+            writer.write(checksum);
+        }
+    }
+
+    // Method to read checksum from a saved .sha256 file
+    public String readChecksumFromFile(File file) throws IOException {
+        // Get checksum file path (same directory, same name, .sha256 extension)
+        File checksumFile = new File(file.getParent() + File.separator + file.getName() + ".sha256");
+
+        // Read the first line from the file
+        try (BufferedReader reader = new BufferedReader(new FileReader(checksumFile))) {
+            return reader.readLine();
+        }
+    }
+
+    // Method to compare file checksum with saved one
+    public boolean verifyChecksum(File file, FileHashCalculator calculator) throws IOException, NoSuchAlgorithmException {
+        return verifyChecksum(file, calculator, ProgressListener.NONE);
+    }
+
+    // Same, reporting hashing progress to the listener
+    public boolean verifyChecksum(File file, FileHashCalculator calculator, ProgressListener progress)
+            throws IOException, NoSuchAlgorithmException {
+
+        // Read original checksum from file
+        String originalChecksum = readChecksumFromFile(file);
+
+        // Generate current checksum
+        String currentChecksum = calculator.generateChecksum(file, progress);
+
+        // Compare and return result
+        return originalChecksum != null && originalChecksum.equals(currentChecksum);
+    }
+}
@@ -0,0 +1,91 @@
+package com.qloak.integrity;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Content-addressed index built by DuplicateFinder: SHA-256 -> paths with that content.
+ *
+ * Only files that needed a full hash (those sharing size and head/tail bytes with another
+ * file) are indexed, so every entry with more than one path is a duplicate group. The
+ * first path of a group is the one DuplicateFinder keeps when linking.
+ */
+public class DedupIndex {
+    private final Map<String, List<Path>> paths = new TreeMap<>();
+    private final Map<String, Long> sizes = new TreeMap<>();
+    long filesScanned;
+    long partialHashes;
+    long fullHashes;
+
+    synchronized void add(String checksum, long size, Path path) {
+        paths.computeIfAbsent(checksum, k -> new ArrayList<>()).add(path);
+        sizes.put(checksum, size);
+    }
+
+    // Sorts each group so the keeper (first path) does not depend on scan order
+    synchronized void sortGroups() {
+        for (List<Path> group : paths.values()) {
+            Collections.sort(group);
+        }
+    }
+
+    public synchronized Map<String, List<Path>> getEntries() {
+        return Collections.unmodifiableMap(paths);
+    }
+
+    // Entries with at least two paths
+    public synchronized Map<String, List<Path>> getDuplicateGroups() {
+        Map<String, List<Path>> groups = new TreeMap<>();
+        paths.forEach((checksum, group) -> {
+            if (group.size() > 1) {
+                groups.put(checksum, group);
+            }
+        });
+        return groups;
+    }
+
+    public synchronized long getSize(String checksum) {
+        return sizes.getOrDefault(checksum, 0L);
+    }
+
+    // Bytes freed if every duplicate were replaced by a link to its group's first path
+    public synchronized long getReclaimableBytes() {
+        long total = 0;
+        for (Map.Entry<String, List<Path>> entry : paths.entrySet()) {
+            total += (entry.getValue().size() - 1) * sizes.get(entry.getKey());
+        }
+        return total;
+    }
+
+    public long getFilesScanned() {
+        return filesScanned;
+    }
+
+    public long getPartialHashes() {
+        return partialHashes;
+    }
+
+    public long getFullHashes() {
+        return fullHashes;
+    }
+
+    // One "<checksum>  <path>" line per indexed file (the sha256sum format), grouped by checksum
+    public synchronized void write(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, List<Path>> entry : paths.entrySet()) {
+                for (Path path : entry.getValue()) {
+                    writer.write(entry.getKey() + "  " + path);
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.qloak.integrity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.qloak.common.io.IoThrottle;
+
+/**
+ * Finds files with identical content while fully hashing as few of them as possible:
+ *
+ *   1. group by size; a file with a unique size has no duplicate and is never read;
+ *   2. within a size group, hash the first and last 4 KiB and regroup;
+ *   3. only files still sharing size, head and tail get a full SHA-256.
+ *
+ * Files up to 8 KiB are read whole in step 2, so that hash is already the full one. Paths
+ * that are already hard links to the same file (same file key) count once. Steps 2 and 3
+ * run on a ForkJoinPool of the given parallelism, as BACKGROUND I/O for IoThrottle.
+ */
+public class DuplicateFinder {
+    static final int EDGE_BYTES = 4096;
+
+    private final FileHashCalculator calculator = new FileHashCalculator(IoThrottle.Priority.BACKGROUND);
+    private final long minSize;
+    private final int threads;
+
+    public DuplicateFinder() {
+        this(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    // Files smaller than minSize are ignored (linking tiny files frees next to nothing)
+    public DuplicateFinder(long minSize, int threads) {
+        this.minSize = Math.max(1, minSize);
+        this.threads = threads;
+    }
+
+    public DedupIndex scan(List<Path> roots) throws IOException {
+        DedupIndex index = new DedupIndex();
+
+        // Step 1: size -> distinct files (by file key) -> first path seen
+        Map<Long, Map<Object, Path>> bySize = new HashMap<>();
+        for (Path root : roots) {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && attrs.size() >= minSize) {
+                        index.filesScanned++;
+                        Object key = attrs.fileKey() != null ? attrs.fileKey() : file.toAbsolutePath().normalize();
+                        bySize.computeIfAbsent(attrs.size(), size -> new HashMap<>()).putIfAbsent(key, file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    // Unreadable entries cannot be deduplicated anyway
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+
+        List<Path> sameSize = new ArrayList<>();
+        Map<Path, Long> sizeOf = new HashMap<>();
+        for (Map.Entry<Long, Map<Object, Path>> group : bySize.entrySet()) {
+            if (group.getValue().size() > 1) {
+                for (Path path : group.getValue().values()) {
+                    sameSize.add(path);
+                    sizeOf.put(path, group.getKey());
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // Step 2: size + digest of head and tail (of the whole file when it is small)
+            Map<String, List<Path>> byEdges = group(pool, sameSize,
+                    path -> sizeOf.get(path) + ":" + edgeDigest(path, sizeOf.get(path)));
+            index.partialHashes = sameSize.size();
+
+            List<Path> fullCandidates = new ArrayList<>();
+            for (Map.Entry<String, List<Path>> group : byEdges.entrySet()) {
+                if (group.getValue().size() < 2) {
+                    continue;
+                }
+                long size = sizeOf.get(group.getValue().get(0));
+                if (size <= 2 * EDGE_BYTES) {
+                    String checksum = group.getKey().substring(group.getKey().indexOf(':') + 1);
+                    for (Path path : group.getValue()) {
+                        index.add(checksum, size, path);
+                    }
+                } else {
+                    fullCandidates.addAll(group.getValue());
+                }
+            }
+
+            // Step 3: full SHA-256 of the remaining candidates
+            Map<String, List<Path>> byChecksum = group(pool, fullCandidates, this::fullChecksum);
+            index.fullHashes = fullCandidates.size();
+            byChecksum.forEach((checksum, group) -> {
+                for (Path path : group) {
+                    index.add(checksum, sizeOf.get(path), path);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        index.sortGroups();
+        return index;
+    }
+
+    /**
+     * Replaces every duplicate with a hard link to the first path of its group, atomically
+     * per file (link to a fresh temporary name, then rename over the duplicate). Each pair is
+     * compared byte for byte just before linking, so a file that changed since the scan,
+     * even without changing size, is left alone, as are files that cannot be linked (e.g.
+     * on another file system). Returns the number of bytes reclaimed.
+     */
+    public long linkDuplicates(DedupIndex index) throws IOException {
+        long reclaimed = 0;
+        for (Map.Entry<String, List<Path>> group : index.getDuplicateGroups().entrySet()) {
+            long size = index.getSize(group.getKey());
+            Path keeper = group.getValue().get(0);
+            for (Path duplicate : group.getValue().subList(1, group.getValue().size())) {
+                Path temp = null;
+                try {
+                    if (Files.size(keeper) != size || Files.size(duplicate) != size
+                            || Files.isSameFile(keeper, duplicate) || Files.mismatch(keeper, duplicate) != -1) {
+                        continue;
+                    }
+                    temp = linkAtFreshName(keeper, duplicate);
+                    Files.move(temp, duplicate, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    temp = null;
+                    reclaimed += size;
+                } catch (IOException | UnsupportedOperationException e) {
+                    // Only ever remove the link created here, never a file that already had that name
+                    if (temp != null) {
+                        Files.deleteIfExists(temp);
+                    }
+                }
+            }
+        }
+        return reclaimed;
+    }
+
+    // Hard-links keeper under an unused name next to duplicate; createLink fails rather than replace a file
+    private static Path linkAtFreshName(Path keeper, Path duplicate) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            Path temp = duplicate.resolveSibling("." + duplicate.getFileName() + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".qloak-link");
+            try {
+                return Files.createLink(temp, keeper);
+            } catch (FileAlreadyExistsException e) {
+                if (attempt == 9) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Groups paths by key, computing keys in parallel; paths that vanished or became unreadable are dropped
+    private static Map<String, List<Path>> group(ForkJoinPool pool, List<Path> paths, KeyFunction key) throws IOException {
+        Function<Path, Stream<Map.Entry<String, Path>>> keyed = path -> {
+            try {
+                return Stream.of(Map.entry(key.apply(path), path));
+            } catch (IOException e) {
+                return Stream.empty();
+            }
+        };
+        try {
+            return pool.submit(() -> paths.parallelStream()
+                    .flatMap(keyed)
+                    .collect(Collectors.groupingBy(Map.Entry::getKey, LinkedHashMap::new,
+                            Collectors.mapping(Map.Entry::getValue, Collectors.toList())))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Duplicate scan interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // SHA-256 of the first and last EDGE_BYTES, or of the whole file when it is at most twice that
+    static String edgeDigest(Path path, long size) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (size <= 2 * EDGE_BYTES) {
+                update(digest, channel, 0, (int) size);
+            } else {
+                update(digest, channel, 0, EDGE_BYTES);
+                update(digest, channel, size - EDGE_BYTES, EDGE_BYTES);
+            }
+        }
+        return FileHashCalculator.toHex(digest.digest());
+    }
+
+    private String fullChecksum(Path path) throws IOException {
+        try {
+            return calculator.generateChecksum(path.toFile());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, FileChannel channel, long position, int length) throws IOException {
+        IoThrottle.global().acquire(IoThrottle.Priority.BACKGROUND, length);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("File shrank while reading");
+            }
+        }
+        buffer.flip();
+        digest.update(buffer);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeyFunction {
+        String apply(Path path) throws IOException;
+    }
+}
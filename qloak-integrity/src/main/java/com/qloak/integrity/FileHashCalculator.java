@@ -0,0 +1,180 @@
+package com.qloak.integrity;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.qloak.common.concurrent.ProgressListener;
+import com.qloak.common.io.IoThrottle;
+import com.qloak.common.io.ThrottledInputStream;
+import com.qloak.common.metrics.HashEvent;
+import com.qloak.common.metrics.OperationMetrics;
+
+// Class to calculate hash values of files
+public class FileHashCalculator {
+
+    // Operation, byte and error counters plus a latency histogram for every checksum
+    private static final OperationMetrics METRICS = OperationMetrics.of("hash");
+
+    // Leaf size of the tree-hash mode; it is part of the result, so it never changes
+    public static final int TREE_LEAF_SIZE = 1 << 20;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // I/O class for IoThrottle.global(): user-facing checks by default, BACKGROUND for batch scans
+    private final IoThrottle.Priority priority;
+
+    // Constructor
+    public FileHashCalculator() {
+        this(IoThrottle.Priority.INTERACTIVE);
+    }
+
+    public FileHashCalculator(IoThrottle.Priority priority) {
+        this.priority = priority;
+    }
+
+    // Method to calculate SHA-256 checksum of a file
+    public String generateChecksum(File file) throws IOException, NoSuchAlgorithmException {
+        return generateChecksum(file, ProgressListener.NONE);
+    }
+
+    /**
+     * Same as generateChecksum(File), reporting (bytes hashed, file length) after every chunk.
+     * Stops with an InterruptedIOException if the calling thread is interrupted.
+     */
+    public String generateChecksum(File file, ProgressListener progress) throws IOException, NoSuchAlgorithmException {
+        long start = System.nanoTime();
+        HashEvent event = new HashEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            String checksum = calculateChecksum(file, progress);
+            succeeded = true;
+            return checksum;
+        } finally {
+            record(file, "SHA-256", start, event, succeeded);
+        }
+    }
+
+    // Tree-hash mode on the common ForkJoin pool
+    public String generateTreeChecksum(File file) throws IOException, NoSuchAlgorithmException {
+        return generateTreeChecksum(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tree-hash mode for large files: the file is split into TREE_LEAF_SIZE leaves that are
+     * read and hashed in parallel on the given pool, then combined as an RFC 6962 Merkle tree
+     * (see TreeHashTask). The result only depends on the file's contents, not on the pool
+     * size, but it is a different value from generateChecksum() and sha256sum, so the two
+     * must not be compared. Stops with an InterruptedIOException if the calling thread is
+     * interrupted.
+     */
+    public String generateTreeChecksum(File file, ForkJoinPool pool) throws IOException, NoSuchAlgorithmException {
+        long start = System.nanoTime();
+        HashEvent event = new HashEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            String checksum = calculateTreeChecksum(file, pool);
+            succeeded = true;
+            return checksum;
+        } finally {
+            record(file, "SHA-256-tree", start, event, succeeded);
+        }
+    }
+
+    private void record(File file, String algorithm, long start, HashEvent event, boolean succeeded) {
+        long bytes = file.length();
+        METRICS.record(start, bytes, succeeded);
+        if (event.shouldCommit()) {
+            event.path = file.getPath();
+            event.algorithm = algorithm;
+            event.bytes = bytes;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+
+    private String calculateChecksum(File file, ProgressListener progress) throws IOException, NoSuchAlgorithmException {
+
+        // Create MessageDigest for SHA-256
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        // Create a buffer to read file data
+        // One throttle block per read, so reads stay large and sequential and skip the stream's copy;
+        // small files get a buffer of their own size, which matters when hashing millions of them
+        IoThrottle throttle = IoThrottle.global();
+        long total = file.length();
+        byte[] buffer = new byte[(int) Math.max(8192, Math.min(throttle.getBlockSize(), total))];
+        int bytesRead;
+        long done = 0;
+
+        // Read file content as raw bytes, so the result matches sha256sum
+        try (InputStream in = new ThrottledInputStream(new FileInputStream(file), throttle, priority)) {
+            while ((bytesRead = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+                done += bytesRead;
+                progress.onProgress(done, total);
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Checksum of " + file + " cancelled");
+                }
+            }
+        }
+
+        // Generate hash bytes
+        byte[] hashBytes = digest.digest();
+
+        // Return final checksum as a hex string
+        return toHex(hashBytes);
+    }
+
+    private String calculateTreeChecksum(File file, ForkJoinPool pool) throws IOException, NoSuchAlgorithmException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                // The hash of an empty tree, as in RFC 6962
+                return toHex(MessageDigest.getInstance("SHA-256").digest());
+            }
+            TreeHashTask.Hash hash = new TreeHashTask.Hash(channel, size, priority);
+            ForkJoinTask<byte[]> root = pool.submit(new TreeHashTask(hash, 0, hash.leaves()));
+            try {
+                return toHex(root.get());
+            } catch (InterruptedException e) {
+                hash.cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Checksum of " + file + " cancelled");
+            } catch (ExecutionException e) {
+                hash.cancel();
+                if (Thread.currentThread().isInterrupted()) {
+                    // The caller may have run leaves itself while waiting; its interrupt closed the channel
+                    throw new InterruptedIOException("Checksum of " + file + " cancelled");
+                }
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    // Lowercase hex of a digest, the form stored in .sha256 files
+    // (a table lookup: String.format per byte cost more than hashing a small file)
+    public static String toHex(byte[] hashBytes) {
+        char[] hex = new char[hashBytes.length * 2];
+        for (int i = 0; i < hashBytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(hashBytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[hashBytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+}
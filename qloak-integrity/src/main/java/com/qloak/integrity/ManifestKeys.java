@@ -0,0 +1,112 @@
+package com.qloak.integrity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Ed25519 key pairs for signing checksum manifests, stored as PEM files (PKCS#8 private
+ * key, X.509 public key), the same layout as "openssl genpkey -algorithm ed25519".
+ */
+public final class ManifestKeys {
+    static final String ALGORITHM = "Ed25519";
+
+    private ManifestKeys() {
+    }
+
+    /**
+     * Writes a new key pair. Neither file may exist yet, so an existing signing key is never
+     * replaced. The private key file is created owner-only (where the file system has POSIX
+     * permissions) before anything is written to it.
+     */
+    public static KeyPair generate(Path privateKeyFile, Path publicKeyFile) throws IOException, GeneralSecurityException {
+        for (Path file : new Path[] {privateKeyFile, publicKeyFile}) {
+            if (Files.exists(file, LinkOption.NOFOLLOW_LINKS)) {
+                throw new FileAlreadyExistsException(file.toString(), null, "already exists; refusing to replace a key");
+            }
+        }
+        KeyPair pair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+        byte[] privatePem = pem("PRIVATE KEY", pair.getPrivate().getEncoded()).getBytes(StandardCharsets.US_ASCII);
+        try {
+            writeNew(privateKeyFile, privatePem, true);
+        } finally {
+            Arrays.fill(privatePem, (byte) 0);
+        }
+        try {
+            writeNew(publicKeyFile, pem("PUBLIC KEY", pair.getPublic().getEncoded()).getBytes(StandardCharsets.US_ASCII), false);
+        } catch (IOException e) {
+            // Do not leave half a key pair behind
+            Files.deleteIfExists(privateKeyFile);
+            throw e;
+        }
+        return pair;
+    }
+
+    // CREATE_NEW fails instead of following or replacing whatever appeared at the path meanwhile
+    private static void writeNew(Path file, byte[] content, boolean ownerOnly) throws IOException {
+        Set<OpenOption> options = Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        SeekableByteChannel channel;
+        if (ownerOnly) {
+            try {
+                channel = Files.newByteChannel(file, options,
+                        PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+            } catch (UnsupportedOperationException e) {
+                // Not a POSIX file system; rely on the directory's permissions
+                channel = Files.newByteChannel(file, options);
+            }
+        } else {
+            channel = Files.newByteChannel(file, options);
+        }
+        try (SeekableByteChannel out = channel) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        }
+    }
+
+    public static PrivateKey loadPrivateKey(Path file) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(ALGORITHM).generatePrivate(new PKCS8EncodedKeySpec(unpem(file, "PRIVATE KEY")));
+    }
+
+    public static PublicKey loadPublicKey(Path file) throws IOException, GeneralSecurityException {
+        return KeyFactory.getInstance(ALGORITHM).generatePublic(new X509EncodedKeySpec(unpem(file, "PUBLIC KEY")));
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, new byte[] {'\n'}).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] unpem(Path file, String type) throws IOException {
+        String text = Files.readString(file, StandardCharsets.US_ASCII);
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+        int from = text.indexOf(begin);
+        int to = text.indexOf(end);
+        if (from < 0 || to < from) {
+            throw new IOException(file + " does not contain a PEM " + type);
+        }
+        return Base64.getMimeDecoder().decode(text.substring(from + begin.length(), to));
+    }
+}
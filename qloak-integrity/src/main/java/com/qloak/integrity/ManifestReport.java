@@ -0,0 +1,67 @@
+package com.qloak.integrity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a ManifestVerifier run: whether the signature holds and which entries did not match.
+ */
+public class ManifestReport {
+    private final List<String> failed = new ArrayList<>();
+    private final List<String> missing = new ArrayList<>();
+    private long entries;
+    private long ok;
+    private boolean signatureValid;
+    private String signatureProblem;
+
+    void addOk() {
+        entries++;
+        ok++;
+    }
+
+    void addFailed(String path) {
+        entries++;
+        failed.add(path);
+    }
+
+    void addMissing(String path) {
+        entries++;
+        missing.add(path);
+    }
+
+    void setSignature(boolean valid, String problem) {
+        signatureValid = valid;
+        signatureProblem = problem;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getOk() {
+        return ok;
+    }
+
+    // Entries whose file exists but hashes to something else (or could not be read)
+    public List<String> getFailed() {
+        return Collections.unmodifiableList(failed);
+    }
+
+    public List<String> getMissing() {
+        return Collections.unmodifiableList(missing);
+    }
+
+    public boolean isSignatureValid() {
+        return signatureValid;
+    }
+
+    // Why the signature was rejected, or null if it is valid
+    public String getSignatureProblem() {
+        return signatureProblem;
+    }
+
+    public boolean isClean() {
+        return signatureValid && failed.isEmpty() && missing.isEmpty();
+    }
+}
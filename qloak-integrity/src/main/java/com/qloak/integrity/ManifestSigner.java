@@ -0,0 +1,150 @@
+package com.qloak.integrity;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import com.qloak.common.io.IoThrottle;
+
+/**
+ * Writes and signs checksum manifests.
+ *
+ * A manifest is a plain sha256sum file ("<hex>  <relative path>" per line, sorted by
+ * path), so "sha256sum -c" still works on it. The signature goes into "<manifest>.sig" and
+ * covers the SHA-256 of the whole manifest, so checking a manifest of millions of entries
+ * costs one Ed25519 verification (see ManifestVerifier):
+ *
+ *   qloak-manifest-signature 1
+ *   manifest-sha256 <hex>
+ *   signature <base64 Ed25519 signature of the first two lines>
+ *
+ * The verifier supplies the trusted public key; nothing in the signature file is trusted.
+ */
+public class ManifestSigner {
+    static final String HEADER = "qloak-manifest-signature 1";
+    static final String SIGNATURE_SUFFIX = ".sig";
+
+    private final FileHashCalculator calculator = new FileHashCalculator(IoThrottle.Priority.BACKGROUND);
+    private final int threads;
+
+    public ManifestSigner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // threads: how many files are hashed at once while building a manifest
+    public ManifestSigner(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Hashes every regular file under directory into a manifest (paths relative to the
+     * directory) and signs it. The manifest is hashed as it is written, so it is not read
+     * back for signing. Returns the number of entries.
+     */
+    public int createManifest(Path directory, Path manifest, PrivateKey key) throws IOException, GeneralSecurityException {
+        Path manifestPath = manifest.toAbsolutePath().normalize();
+        Path signaturePath = signatureFile(manifestPath);
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Path absolute = file.toAbsolutePath().normalize();
+                if (attrs.isRegularFile() && !absolute.equals(manifestPath) && !absolute.equals(signaturePath)) {
+                    String name = directory.relativize(file).toString();
+                    if (name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                        throw new IOException("Cannot list a file name containing a line break: " + file);
+                    }
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(null);
+
+        String[] checksums = hashAll(files);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(manifest), digest);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+            for (int i = 0; i < files.size(); i++) {
+                writer.write(checksums[i] + "  " + directory.relativize(files.get(i)).toString().replace('\\', '/'));
+                writer.write('\n');
+            }
+        }
+        writeSignature(manifest, FileHashCalculator.toHex(digest.digest()), key);
+        return files.size();
+    }
+
+    // Signs an existing manifest (one sequential read of it)
+    public void sign(Path manifest, PrivateKey key) throws IOException, GeneralSecurityException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = new DigestInputStream(Files.newInputStream(manifest), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        writeSignature(manifest, FileHashCalculator.toHex(digest.digest()), key);
+    }
+
+    public static Path signatureFile(Path manifest) {
+        return manifest.resolveSibling(manifest.getFileName() + SIGNATURE_SUFFIX);
+    }
+
+    // The exact bytes that are signed: the header and the manifest digest lines
+    static byte[] signedContent(String manifestSha256) {
+        return (HEADER + "\nmanifest-sha256 " + manifestSha256 + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void writeSignature(Path manifest, String manifestSha256, PrivateKey key) throws IOException, GeneralSecurityException {
+        Signature signer = Signature.getInstance(ManifestKeys.ALGORITHM);
+        signer.initSign(key);
+        byte[] content = signedContent(manifestSha256);
+        signer.update(content);
+        String signature = Base64.getEncoder().encodeToString(signer.sign());
+        Files.writeString(signatureFile(manifest), new String(content, StandardCharsets.US_ASCII)
+                + "signature " + signature + "\n", StandardCharsets.US_ASCII);
+    }
+
+    private String[] hashAll(List<Path> files) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> files.parallelStream().map(file -> {
+                try {
+                    return calculator.generateChecksum(file.toFile());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toArray(String[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Manifest creation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.qloak.integrity;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import com.qloak.common.io.IoThrottle;
+
+/**
+ * Checks a manifest written by ManifestSigner, offline.
+ *
+ * Nothing the manifest lists is opened before its signature is trusted: a first
+ * sequential read hashes the manifest, that digest is compared with the one in the
+ * signature file, and the file's Ed25519 signature is checked against the trusted public
+ * key, so the cost of the signature check does not depend on the number of entries. Only
+ * then is the manifest streamed again, through the same open file, and each listed file
+ * hashed (in parallel batches) as its line goes by; the second read is hashed too, and a
+ * manifest that changed in between fails.
+ *
+ * Paths are resolved against the manifest's directory. Entries that are absolute, lead out
+ * of that directory (through ".." or a symbolic link) or name anything but a regular
+ * file are reported as failed without being read.
+ */
+public class ManifestVerifier {
+    private static final int BATCH_SIZE = 4096;
+
+    private final FileHashCalculator calculator = new FileHashCalculator(IoThrottle.Priority.BACKGROUND);
+    private final int threads;
+
+    public ManifestVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    // threads: how many files are hashed at once
+    public ManifestVerifier(int threads) {
+        this.threads = threads;
+    }
+
+    public ManifestReport verify(Path manifest, PublicKey trustedKey) throws IOException {
+        Path base = manifest.toAbsolutePath().normalize().getParent().toRealPath();
+        ManifestReport report = new ManifestReport();
+        try (FileChannel channel = FileChannel.open(manifest, StandardOpenOption.READ)) {
+            String signedSha256 = digest(channel, null);
+            checkSignature(manifest, signedSha256, trustedKey, report);
+            if (!report.isSignatureValid()) {
+                return report;
+            }
+
+            channel.position(0);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            String streamedSha256;
+            try {
+                streamedSha256 = digest(channel, new BatchChecker(pool, base, report));
+            } finally {
+                pool.shutdown();
+            }
+            if (!streamedSha256.equals(signedSha256)) {
+                report.setSignature(false, "manifest changed while it was being verified");
+            }
+        }
+        return report;
+    }
+
+    // Hashes the rest of the manifest, handing each line to checker if there is one
+    private String digest(FileChannel channel, BatchChecker checker) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        InputStream in = new DigestInputStream(Channels.newInputStream(channel), digest);
+        if (checker == null) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return FileHashCalculator.toHex(digest.digest());
+        }
+        // Not closed: closing it would close the channel
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            checker.add(line);
+        }
+        checker.flush();
+        return FileHashCalculator.toHex(digest.digest());
+    }
+
+    // Collects manifest lines and checks their files BATCH_SIZE at a time
+    private final class BatchChecker {
+        private final ForkJoinPool pool;
+        private final Path base;
+        private final ManifestReport report;
+        private final List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+
+        BatchChecker(ForkJoinPool pool, Path base, ManifestReport report) {
+            this.pool = pool;
+            this.base = base;
+            this.report = report;
+        }
+
+        void add(String line) throws IOException {
+            // "<hex>  <path>", or "<hex> *<path>" as written by sha256sum -b
+            if (line.length() < 67 || line.charAt(64) != ' ' || (line.charAt(65) != ' ' && line.charAt(65) != '*')) {
+                report.addFailed(line);
+                return;
+            }
+            batch.add(new String[] {line.substring(0, 64), line.substring(66)});
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            checkBatch(pool, base, batch, report);
+            batch.clear();
+        }
+    }
+
+    /**
+     * The file an entry names, or null if the entry is absolute or leads outside base once
+     * normalized and with symbolic links resolved. Throws NoSuchFileException if it is missing.
+     */
+    static Path resolveEntry(Path base, String entry) throws IOException {
+        Path relative;
+        try {
+            relative = Path.of(entry);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+        if (relative.isAbsolute() || relative.getRoot() != null) {
+            return null;
+        }
+        Path file = base.resolve(relative).normalize();
+        if (!file.startsWith(base)) {
+            return null;
+        }
+        Path real = file.toRealPath();
+        return real.startsWith(base) ? real : null;
+    }
+
+    private void checkBatch(ForkJoinPool pool, Path base, List<String[]> batch, ManifestReport report)
+            throws IOException {
+        // null: file missing; otherwise its checksum (empty if it is not allowed or could not be read)
+        String[] actual;
+        try {
+            actual = pool.submit(() -> batch.parallelStream().map(entry -> {
+                try {
+                    Path file = resolveEntry(base, entry[1]);
+                    // Never read devices, FIFOs or directories: they can block or never end
+                    if (file == null || !Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+                        return "";
+                    }
+                    return calculator.generateChecksum(file.toFile());
+                } catch (NoSuchFileException e) {
+                    return null;
+                } catch (InterruptedIOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (IOException e) {
+                    return "";
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toArray(String[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Manifest verification interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (actual[i] == null) {
+                report.addMissing(batch.get(i)[1]);
+            } else if (actual[i].equalsIgnoreCase(batch.get(i)[0])) {
+                report.addOk();
+            } else {
+                report.addFailed(batch.get(i)[1]);
+            }
+        }
+    }
+
+    private static void checkSignature(Path manifest, String manifestSha256, PublicKey trustedKey,
+                                       ManifestReport report) throws IOException {
+        Path signatureFile = ManifestSigner.signatureFile(manifest);
+        if (!Files.isRegularFile(signatureFile)) {
+            report.setSignature(false, "no signature file " + signatureFile);
+            return;
+        }
+        List<String> lines = Files.readAllLines(signatureFile, StandardCharsets.US_ASCII);
+        if (lines.size() < 3 || !lines.get(0).equals(ManifestSigner.HEADER)
+                || !lines.get(1).startsWith("manifest-sha256 ") || !lines.get(2).startsWith("signature ")) {
+            report.setSignature(false, "malformed signature file " + signatureFile);
+            return;
+        }
+        if (!lines.get(1).substring("manifest-sha256 ".length()).equalsIgnoreCase(manifestSha256)) {
+            report.setSignature(false, "manifest has changed since it was signed");
+            return;
+        }
+        try {
+            Signature verifier = Signature.getInstance(ManifestKeys.ALGORITHM);
+            verifier.initVerify(trustedKey);
+            verifier.update(ManifestSigner.signedContent(manifestSha256));
+            if (verifier.verify(Base64.getDecoder().decode(lines.get(2).substring("signature ".length())))) {
+                report.setSignature(true, null);
+            } else {
+                report.setSignature(false, "signature does not match the trusted public key");
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            report.setSignature(false, "invalid signature: " + e.getMessage());
+        }
+    }
+}
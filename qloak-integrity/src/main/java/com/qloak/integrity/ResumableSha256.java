@@ -0,0 +1,151 @@
+package com.qloak.integrity;
+
+/**
+ * SHA-256 (FIPS 180-4) whose intermediate state can be saved and restored.
+ *
+ * MessageDigest can be cloned but not serialized, so a hash interrupted halfway through
+ * a huge file could only restart from byte 0. This implementation exposes the chaining
+ * value and byte count at any 64-byte block boundary as a short hex string (see
+ * exportState) from which hashing continues in a later process. It is slower than the
+ * JDK's intrinsified SHA-256, so VerifyJob only uses it for files large enough to need
+ * mid-file checkpoints.
+ */
+final class ResumableSha256 {
+    private static final int[] K = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+        0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+        0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+        0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+        0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+    };
+    private static final int[] INITIAL = {
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+
+    private final int[] h = INITIAL.clone();
+    private final int[] w = new int[64];
+    private final byte[] pending = new byte[64];
+    private int pendingLength;
+    private long byteCount;
+
+    void update(byte[] data, int offset, int length) {
+        byteCount += length;
+        if (pendingLength > 0) {
+            int take = Math.min(length, 64 - pendingLength);
+            System.arraycopy(data, offset, pending, pendingLength, take);
+            pendingLength += take;
+            offset += take;
+            length -= take;
+            if (pendingLength < 64) {
+                return;
+            }
+            compress(pending, 0);
+            pendingLength = 0;
+        }
+        while (length >= 64) {
+            compress(data, offset);
+            offset += 64;
+            length -= 64;
+        }
+        System.arraycopy(data, offset, pending, 0, length);
+        pendingLength = length;
+    }
+
+    // Number of bytes hashed so far
+    long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * The state as 80 hex digits (eight chaining words and the byte count). Only defined on
+     * a block boundary, i.e. when getByteCount() is a multiple of 64.
+     */
+    String exportState() {
+        if (pendingLength != 0) {
+            throw new IllegalStateException("State can only be saved on a 64-byte boundary");
+        }
+        StringBuilder state = new StringBuilder(80);
+        for (int word : h) {
+            state.append(String.format("%08x", word));
+        }
+        return state.append(String.format("%016x", byteCount)).toString();
+    }
+
+    static ResumableSha256 importState(String state) {
+        if (state.length() != 80) {
+            throw new IllegalArgumentException("Invalid SHA-256 state");
+        }
+        ResumableSha256 sha = new ResumableSha256();
+        for (int i = 0; i < 8; i++) {
+            sha.h[i] = Integer.parseUnsignedInt(state.substring(i * 8, i * 8 + 8), 16);
+        }
+        sha.byteCount = Long.parseUnsignedLong(state.substring(64), 16);
+        if (sha.byteCount % 64 != 0) {
+            throw new IllegalArgumentException("Invalid SHA-256 state");
+        }
+        return sha;
+    }
+
+    byte[] digest() {
+        long bitCount = byteCount * 8;
+        byte[] padding = new byte[(pendingLength < 56 ? 56 : 120) - pendingLength + 8];
+        padding[0] = (byte) 0x80;
+        for (int i = 0; i < 8; i++) {
+            padding[padding.length - 1 - i] = (byte) (bitCount >>> (8 * i));
+        }
+        update(padding, 0, padding.length);
+
+        byte[] out = new byte[32];
+        for (int i = 0; i < 8; i++) {
+            out[i * 4] = (byte) (h[i] >>> 24);
+            out[i * 4 + 1] = (byte) (h[i] >>> 16);
+            out[i * 4 + 2] = (byte) (h[i] >>> 8);
+            out[i * 4 + 3] = (byte) h[i];
+        }
+        return out;
+    }
+
+    private void compress(byte[] block, int offset) {
+        int[] w = this.w;
+        for (int t = 0; t < 16; t++) {
+            int i = offset + t * 4;
+            w[t] = (block[i] << 24) | ((block[i + 1] & 0xff) << 16) | ((block[i + 2] & 0xff) << 8) | (block[i + 3] & 0xff);
+        }
+        for (int t = 16; t < 64; t++) {
+            int w15 = w[t - 15];
+            int w2 = w[t - 2];
+            int s0 = Integer.rotateRight(w15, 7) ^ Integer.rotateRight(w15, 18) ^ (w15 >>> 3);
+            int s1 = Integer.rotateRight(w2, 17) ^ Integer.rotateRight(w2, 19) ^ (w2 >>> 10);
+            w[t] = w[t - 16] + s0 + w[t - 7] + s1;
+        }
+
+        int[] h = this.h;
+        int a = h[0], b = h[1], c = h[2], d = h[3], e = h[4], f = h[5], g = h[6], hh = h[7];
+        for (int t = 0; t < 64; t++) {
+            int s1 = Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25);
+            int ch = (e & f) ^ (~e & g);
+            int temp1 = hh + s1 + ch + K[t] + w[t];
+            int s0 = Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22);
+            int maj = (a & b) ^ (a & c) ^ (b & c);
+            hh = g;
+            g = f;
+            f = e;
+            e = d + temp1;
+            d = c;
+            c = b;
+            b = a;
+            a = temp1 + s0 + maj;
+        }
+        h[0] += a;
+        h[1] += b;
+        h[2] += c;
+        h[3] += d;
+        h[4] += e;
+        h[5] += f;
+        h[6] += g;
+        h[7] += hh;
+    }
+}
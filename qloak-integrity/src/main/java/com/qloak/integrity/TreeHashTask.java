@@ -0,0 +1,176 @@
+package com.qloak.integrity;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.qloak.common.io.IoThrottle;
+
+/**
+ * Hashes the leaves [first, first + count) of a file and combines them as in RFC 6962:
+ * leaf = SHA-256(0x00 || data), node = SHA-256(0x01 || left || right), where the left
+ * subtree holds the largest power of two of leaves smaller than count. The shape of the
+ * tree depends only on the file size, so the result is the same for any pool size.
+ *
+ * The right half is forked and the left half computed in place; each leaf is one
+ * positional read of the shared channel into a direct buffer borrowed from the Hash it
+ * belongs to, so buffers live only as long as one checksum and never outnumber the leaves
+ * being read at once; a short last leaf reads into a heap buffer of its own length. Waiting for the I/O throttle goes through ForkJoinPool.managedBlock,
+ * so the pool can add a thread instead of stalling, even the common pool. I/O errors
+ * surface as UncheckedIOException; Hash.cancel() stops the remaining leaves.
+ */
+final class TreeHashTask extends RecursiveTask<byte[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final Hash hash;
+    private final long first;
+    private final long count;
+
+    TreeHashTask(Hash hash, long first, long count) {
+        this.hash = hash;
+        this.first = first;
+        this.count = count;
+    }
+
+    /** State shared by all tasks of one tree checksum. */
+    static final class Hash {
+        private final FileChannel channel;
+        private final long size;
+        private final IoThrottle.Priority priority;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+        Hash(FileChannel channel, long size, IoThrottle.Priority priority) {
+            this.channel = channel;
+            this.size = size;
+            this.priority = priority;
+        }
+
+        long leaves() {
+            return (size + FileHashCalculator.TREE_LEAF_SIZE - 1) / FileHashCalculator.TREE_LEAF_SIZE;
+        }
+
+        void cancel() {
+            cancelled.set(true);
+        }
+    }
+
+    @Override
+    protected byte[] compute() {
+        try {
+            if (count == 1) {
+                return leaf();
+            }
+            long split = Long.highestOneBit(count - 1);
+            TreeHashTask right = new TreeHashTask(hash, first + split, count - split);
+            right.fork();
+            byte[] left = new TreeHashTask(hash, first, split).compute();
+            MessageDigest digest = sha256();
+            digest.update((byte) 0x01);
+            digest.update(left);
+            digest.update(right.join());
+            return digest.digest();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] leaf() throws IOException {
+        if (hash.cancelled.get()) {
+            throw new InterruptedIOException("Tree hash cancelled");
+        }
+        long position = first * FileHashCalculator.TREE_LEAF_SIZE;
+        int length = (int) Math.min(FileHashCalculator.TREE_LEAF_SIZE, hash.size - position);
+        awaitThrottle(length);
+        // Only full leaves use (and return) pooled 1 MiB direct buffers; the short last leaf, which
+        // is the whole file for small files, gets a heap buffer of its own size
+        boolean full = length == FileHashCalculator.TREE_LEAF_SIZE;
+        ByteBuffer buffer = full ? hash.buffers.poll() : ByteBuffer.allocate(length);
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(FileHashCalculator.TREE_LEAF_SIZE);
+        }
+        try {
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                // Positional reads do not move the channel's position, so leaves can be read concurrently
+                if (hash.channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("File shrank while it was being hashed");
+                }
+            }
+            buffer.flip();
+            MessageDigest digest = sha256();
+            digest.update((byte) 0x00);
+            digest.update(buffer);
+            return digest.digest();
+        } finally {
+            if (full) {
+                hash.buffers.add(buffer);
+            }
+        }
+    }
+
+    private void awaitThrottle(int length) throws IOException {
+        IoThrottle throttle = IoThrottle.global();
+        if (!throttle.isLimited()) {
+            return;
+        }
+        ThrottleBlocker blocker = new ThrottleBlocker(throttle, hash.priority, length);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for I/O budget");
+        }
+        if (blocker.failure != null) {
+            throw blocker.failure;
+        }
+    }
+
+    // Lets the pool compensate for a worker parked in IoThrottle.acquire()
+    private static final class ThrottleBlocker implements ForkJoinPool.ManagedBlocker {
+        private final IoThrottle throttle;
+        private final IoThrottle.Priority priority;
+        private final int length;
+        private boolean done;
+        private IOException failure;
+
+        ThrottleBlocker(IoThrottle throttle, IoThrottle.Priority priority, int length) {
+            this.throttle = throttle;
+            this.priority = priority;
+            this.length = length;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                throttle.acquire(priority, length);
+            } catch (IOException e) {
+                failure = e;
+            }
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.qloak.integrity;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Append-only progress journal of a VerifyJob. One record per line, the path always last
+ * and preceded by its length, so a line torn by a crash cannot name a different file:
+ *
+ *   D TAB status TAB length TAB path                                file finished
+ *   P TAB size TAB mtime TAB sha256-state TAB length TAB path       mid-file checkpoint
+ *
+ * Finished records are flushed to disk at most every flushIntervalMillis, checkpoints
+ * immediately. Torn or corrupt lines are ignored on reload, so at worst the files
+ * finished since the last flush are verified again.
+ */
+final class VerifyJournal implements Closeable {
+    static final String HEADER = "qloak-verify-journal 1";
+
+    // Where a large file's hash can be resumed, valid while the file's size and mtime are unchanged
+    static final class Checkpoint {
+        final long size;
+        final long modified;
+        final String state;
+
+        Checkpoint(long size, long modified, String state) {
+            this.size = size;
+            this.modified = modified;
+            this.state = state;
+        }
+    }
+
+    private final Map<String, VerifyJob.Status> completed = new LinkedHashMap<>();
+    private final Map<String, Checkpoint> checkpoints = new LinkedHashMap<>();
+    private final FileOutputStream stream;
+    private final BufferedWriter writer;
+    private final long flushIntervalNanos;
+    private long lastFlush = System.nanoTime();
+
+    private VerifyJournal(Path file, long flushIntervalMillis) throws IOException {
+        boolean exists = Files.exists(file);
+        if (exists) {
+            load(file);
+        }
+        this.stream = new FileOutputStream(file.toFile(), true);
+        this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        this.flushIntervalNanos = flushIntervalMillis * 1_000_000;
+        if (!exists) {
+            writer.write(HEADER);
+            writer.newLine();
+            flush();
+        } else if (!endsWithNewline(file)) {
+            // Start after a torn last line rather than on it
+            writer.newLine();
+        }
+    }
+
+    private static boolean endsWithNewline(Path file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            if (raf.length() == 0) {
+                return true;
+            }
+            raf.seek(raf.length() - 1);
+            return raf.read() == '\n';
+        }
+    }
+
+    // Opens (and replays) the journal at file, creating it if needed
+    static VerifyJournal open(Path file, long flushIntervalMillis) throws IOException {
+        return new VerifyJournal(file, flushIntervalMillis);
+    }
+
+    private void load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (!HEADER.equals(header)) {
+                throw new IOException(file + " is not a verify journal");
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                try {
+                    if (fields[0].equals("D") && fields.length == 4 && isWhole(fields[2], fields[3])) {
+                        completed.put(fields[3], VerifyJob.Status.valueOf(fields[1]));
+                        checkpoints.remove(fields[3]);
+                    } else if (fields[0].equals("P") && fields.length == 6 && isWhole(fields[4], fields[5])) {
+                        checkpoints.put(fields[5], new Checkpoint(Long.parseLong(fields[1]),
+                                Long.parseLong(fields[2]), fields[3]));
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Torn or corrupt line; the file it names is simply redone
+                }
+            }
+        }
+    }
+
+    private static boolean isWhole(String length, String path) {
+        return Integer.parseInt(length) == path.length();
+    }
+
+    synchronized Map<String, VerifyJob.Status> getCompleted() {
+        return new LinkedHashMap<>(completed);
+    }
+
+    synchronized boolean isCompleted(String path) {
+        return completed.containsKey(path);
+    }
+
+    synchronized Checkpoint getCheckpoint(String path) {
+        return checkpoints.get(path);
+    }
+
+    synchronized void completed(String path, VerifyJob.Status status) throws IOException {
+        completed.put(path, status);
+        checkpoints.remove(path);
+        writer.write("D\t" + status + "\t" + path.length() + "\t" + path);
+        writer.newLine();
+        if (System.nanoTime() - lastFlush >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    synchronized void checkpoint(String path, long size, long modified, String state) throws IOException {
+        checkpoints.put(path, new Checkpoint(size, modified, state));
+        writer.write("P\t" + size + "\t" + modified + "\t" + state + "\t" + path.length() + "\t" + path);
+        writer.newLine();
+        flush();
+    }
+
+    // Writes buffered records and forces them to the device
+    synchronized void flush() throws IOException {
+        writer.flush();
+        stream.getChannel().force(false);
+        lastFlush = System.nanoTime();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.qloak.integrity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a VerifyJob, including the files finished by earlier, interrupted runs.
+ */
+public class VerifyReport {
+    private final Map<VerifyJob.Status, Long> counts = new EnumMap<>(VerifyJob.Status.class);
+    private final List<String> problems = new ArrayList<>();
+    private long resumed;
+    private long bytesHashed;
+
+    void add(String path, VerifyJob.Status status, boolean fromJournal) {
+        counts.merge(status, 1L, Long::sum);
+        if (status == VerifyJob.Status.FAILED || status == VerifyJob.Status.ERROR) {
+            problems.add(status + "  " + path);
+        }
+        if (fromJournal) {
+            resumed++;
+        }
+    }
+
+    void addBytesHashed(long bytes) {
+        bytesHashed += bytes;
+    }
+
+    public long getCount(VerifyJob.Status status) {
+        return counts.getOrDefault(status, 0L);
+    }
+
+    // Files taken from the journal instead of being verified again
+    public long getResumed() {
+        return resumed;
+    }
+
+    // Bytes read by this run (not by the runs it resumed)
+    public long getBytesHashed() {
+        return bytesHashed;
+    }
+
+    // "FAILED  <path>" / "ERROR  <path>" for every file that did not verify
+    public List<String> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public boolean isClean() {
+        return getCount(VerifyJob.Status.FAILED) == 0 && getCount(VerifyJob.Status.ERROR) == 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.qloak.integrity;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks ResumableSha256 against the JDK's SHA-256 around every padding boundary (the length
+ * field fits in the last block up to 55 bytes, needs an extra block from 56), for whole and
+ * piecewise updates, and across an export/import resume.
+ */
+class ResumableSha256Test {
+    private static final int LARGE = 3 * 1024 * 1024 + 17;
+
+    @ParameterizedTest(name = "{0} bytes")
+    @ValueSource(ints = {0, 1, 55, 56, 63, 64, 65, 119, 120, 127, 128, LARGE})
+    void matchesMessageDigest(int length) throws Exception {
+        byte[] data = data(length);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+
+        ResumableSha256 whole = new ResumableSha256();
+        whole.update(data, 0, data.length);
+        assertArrayEquals(expected, whole.digest(), "one update");
+
+        for (int piece : new int[] {1, 7, 63, 64, 1000}) {
+            ResumableSha256 pieces = new ResumableSha256();
+            for (int offset = 0; offset < length; offset += piece) {
+                pieces.update(data, offset, Math.min(piece, length - offset));
+            }
+            assertArrayEquals(expected, pieces.digest(), "updates of " + piece + " bytes");
+        }
+    }
+
+    @ParameterizedTest(name = "resume at {0}")
+    @ValueSource(ints = {0, 64, 128, 4096, 1024 * 1024, LARGE - LARGE % 64})
+    void resumesFromExportedState(int resumeAt) throws Exception {
+        byte[] data = data(LARGE);
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest(data);
+
+        ResumableSha256 first = new ResumableSha256();
+        // Uneven pieces, so the export follows updates that did not end on a block boundary
+        for (int offset = 0; offset < resumeAt; offset += 1000) {
+            first.update(data, offset, Math.min(1000, resumeAt - offset));
+        }
+        String state = first.exportState();
+        assertEquals(80, state.length());
+
+        ResumableSha256 resumed = ResumableSha256.importState(state);
+        assertEquals(resumeAt, resumed.getByteCount());
+        resumed.update(data, resumeAt, data.length - resumeAt);
+        assertArrayEquals(expected, resumed.digest());
+    }
+
+    @Test
+    void refusesStateOffABlockBoundary() {
+        ResumableSha256 sha = new ResumableSha256();
+        sha.update(new byte[65], 0, 65);
+        assertThrows(IllegalStateException.class, sha::exportState);
+
+        char[] state = new char[80];
+        Arrays.fill(state, '0');
+        state[79] = '1';
+        assertThrows(IllegalArgumentException.class, () -> ResumableSha256.importState(new String(state)));
+        assertThrows(IllegalArgumentException.class, () -> ResumableSha256.importState("00"));
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,68 @@
+package com.qloak.integrity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Checks generateTreeChecksum() against RFC 6962 Merkle tree hashes computed by an
+ * independent implementation, for files whose byte i is i % 251 (so no two leaves are
+ * alike), on pools of several sizes.
+ */
+class TreeChecksumTest {
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest(name = "{0} bytes")
+    @CsvSource({
+            // no leaves: the hash of the empty string
+            "0, e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+            // one partial leaf
+            "100, 1ef94039656ac7d0280821c8938aa75ddb703dc68e536e4e6816afbf960b5781",
+            // 1, 2, 3 and 5 full leaves
+            "1048576, f4e53704c07aef05b5b12a89d6c1e54292fa7d9d8c3ee431c40b6f6ef6d19280",
+            "2097152, 1661cb740559458c2a1dce898f8f510ea07d28501f983c733aec692565131eb7",
+            "3145728, 062d9057692524803edcdf17d4b5465325bbb35d99cc9c65907aa4f0dfa4449c",
+            "5242880, d29b99aa97e0515d22db167911c23cd56d5e7e100a24ddc2e8816647b1d4d835",
+            // 3 leaves, the last holding one byte
+            "2097153, 13fc36052180d2af460b52104fd4480bfa9513d46e40b3efad05a2dd4c81d7ab",
+            // 5 leaves, the last one partial
+            "4206649, 640f994428e2b089bb019d42fd585dd9f55eb9875f67c55a7c3ecc96a4a625fb",
+    })
+    void matchesRfc6962(long size, String expected) throws Exception {
+        File file = write(size);
+        FileHashCalculator calculator = new FileHashCalculator();
+        for (int threads : new int[] {1, 2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                assertEquals(expected, calculator.generateTreeChecksum(file, pool), threads + " threads");
+            } finally {
+                pool.shutdown();
+            }
+        }
+        assertEquals(expected, calculator.generateTreeChecksum(file), "common pool");
+    }
+
+    private File write(long size) throws IOException {
+        Path file = dir.resolve(size + ".bin");
+        byte[] chunk = new byte[251 * 4096];
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = (byte) (i % 251);
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < size; written += chunk.length) {
+                out.write(chunk, 0, (int) Math.min(chunk.length, size - written));
+            }
+        }
+        return file.toFile();
+    }
+}
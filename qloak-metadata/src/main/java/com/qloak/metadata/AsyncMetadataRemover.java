@@ -0,0 +1,70 @@
+package com.qloak.metadata;
+
+import java.io.File;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+
+import com.qloak.common.concurrent.AsyncTasks;
+import com.qloak.common.concurrent.FilePublisher;
+import com.qloak.common.concurrent.FileResult;
+import com.qloak.common.concurrent.ProgressListener;
+
+/**
+ * Non-blocking front end for MetadataRemover, on the given executor (or
+ * AsyncTasks.defaultExecutor()).
+ *
+ * PDFBox, Commons Imaging and POI cannot report progress or be interrupted mid-file, so
+ * a single file reports (0, length) when it starts and (length, length) when the cleaned
+ * copy is written, and cancellation takes effect before a file is opened, not during it.
+ */
+public class AsyncMetadataRemover {
+    private final MetadataRemover remover = new MetadataRemover();
+    private final ChecksummingSanitizer sanitizer = new ChecksummingSanitizer();
+    private final ExecutorService executor;
+
+    public AsyncMetadataRemover() {
+        this(AsyncTasks.defaultExecutor());
+    }
+
+    public AsyncMetadataRemover(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Completes with the cleaned copy (see MetadataRemover.removeMetadata)
+    public CompletableFuture<File> removeMetadata(String fileType, File file) {
+        return removeMetadata(fileType, file, ProgressListener.NONE);
+    }
+
+    public CompletableFuture<File> removeMetadata(String fileType, File file, ProgressListener progress) {
+        return AsyncTasks.supply(() -> clean(fileType, file, progress), executor);
+    }
+
+    // Cleans the file and hashes the cleaned copy in one pass (see ChecksummingSanitizer)
+    public CompletableFuture<SanitizedFile> sanitizeAndChecksum(String fileType, File file) {
+        return AsyncTasks.supply(() -> sanitizer.sanitize(fileType, file), executor);
+    }
+
+    /**
+     * Streams the cleaned copy of each file, cleaning at most maxConcurrency at a time.
+     * The progress listener is told (files done, total files).
+     */
+    public Flow.Publisher<FileResult<File>> removeMetadata(String fileType, List<File> files,
+                                                          int maxConcurrency, ProgressListener progress) {
+        return new FilePublisher<>(files, (file, fileProgress) -> clean(fileType, file, fileProgress),
+                executor, maxConcurrency, progress);
+    }
+
+    private File clean(String fileType, File file, ProgressListener progress) throws Exception {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Sanitizing " + file + " cancelled");
+        }
+        long length = file.length();
+        progress.onProgress(0, length);
+        File cleaned = remover.removeMetadata(fileType, file);
+        progress.onProgress(length, length);
+        return cleaned;
+    }
+}
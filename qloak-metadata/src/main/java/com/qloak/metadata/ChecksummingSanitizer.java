@@ -0,0 +1,46 @@
+package com.qloak.metadata;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+import com.qloak.integrity.ChecksumFileManager;
+import com.qloak.integrity.FileHashCalculator;
+
+/**
+ * Strips metadata and computes the SHA-256 of the cleaned copy in the same pass: the
+ * output stream is wrapped in a DigestOutputStream, so the integrity record needs no
+ * second read of the file.
+ */
+public class ChecksummingSanitizer {
+    private final MetadataRemover remover = new MetadataRemover();
+    private final ChecksumFileManager fileManager = new ChecksumFileManager();
+
+    // Writes the cleaned copy next to the original (see MetadataRemover.cleanedFileFor)
+    public SanitizedFile sanitize(String fileType, File file) throws Exception {
+        File output = MetadataRemover.cleanedFileFor(fileType, file);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        boolean written = false;
+        long size;
+        try (OutputStream out = new DigestOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output), 64 * 1024), digest)) {
+            size = remover.removeMetadata(fileType, file, out);
+            written = true;
+        } finally {
+            if (!written) {
+                output.delete();
+            }
+        }
+        return new SanitizedFile(file, output, FileHashCalculator.toHex(digest.digest()), size);
+    }
+
+    // Same, and saves the checksum as <checksumDirectory>/<cleaned name>.sha256
+    public SanitizedFile sanitizeAndSave(String fileType, File file, File checksumDirectory) throws Exception {
+        SanitizedFile result = sanitize(fileType, file);
+        fileManager.saveChecksumToDirectory(result.getCleaned(), checksumDirectory.getPath(), result.getChecksum());
+        return result;
+    }
+}
@@ -1,4 +1,4 @@
-
+package com.qloak.metadata;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.commons.imaging.Imaging;
@@ -12,111 +12,186 @@ import org.apache.poi.ooxml.POIXMLProperties.CustomProperties;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.qloak.common.io.IoThrottle;
+import com.qloak.common.io.ThrottledOutputStream;
+import com.qloak.common.metrics.MetricsRegistry;
+import com.qloak.common.metrics.OperationMetrics;
+import com.qloak.common.metrics.SanitizeEvent;
 
 /**
- * MetadataRemoverApp
+ * MetadataRemover
  *
- * This program can remove metadata from PDF, IMAGE, or DOCX files.
+ * Removes metadata from PDF, IMAGE, or DOCX files. The cleaned copy is written next to the
+ * original with a "_cleaned" suffix, and its location is returned to the caller; or it is
+ * written to a caller-supplied stream.
  * For JPEG/JPG images, it uses standard ImageIO to rewrite the image without metadata.
  * For other image types (PNG, GIF, BMP, TIFF), it uses Apache Commons Imaging.
  */
-public class MetadataRemoverApp {
+public class MetadataRemover {
 
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    // Counts, latency and bytes read per cleaned file; bytes written are counted separately
+    private static final OperationMetrics METRICS = OperationMetrics.of("sanitize");
+    private static final LongAdder BYTES_WRITTEN =
+            MetricsRegistry.global().counter("qloak_sanitize_bytes_written_total");
 
-        try {
-            System.out.print("Select file type (PDF/IMAGE/DOCX): ");
-            String fileType = scanner.nextLine().trim().toUpperCase();
+    // Output is written through IoThrottle.global() in this I/O class
+    private final IoThrottle.Priority priority;
+
+    public MetadataRemover() {
+        this(IoThrottle.Priority.INTERACTIVE);
+    }
 
-            System.out.print("Enter file path: ");
-            String filePath = scanner.nextLine().trim();
+    public MetadataRemover(IoThrottle.Priority priority) {
+        this.priority = priority;
+    }
 
-            processFile(fileType, filePath);
-            System.out.println("Metadata removed successfully!");
-        } catch (Exception e) {
-            System.err.println("Error: " + e.getMessage());
-            // e.printStackTrace(); // Uncomment if you want full stack trace for debugging
+    // Cleans the file according to its type (PDF/IMAGE/DOCX) and returns the cleaned copy
+    public File removeMetadata(String fileType, File file) throws Exception {
+        File output = cleanedFileFor(fileType, file);
+        boolean written = false;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(output))) {
+            removeMetadata(fileType, file, out);
+            written = true;
         } finally {
-            scanner.close();
+            if (!written) {
+                output.delete();
+            }
         }
+        return output;
     }
 
-    private static void processFile(String fileType, String filePath) throws Exception {
-        File file = new File(filePath);
+    /**
+     * Writes the cleaned content of the file to out (which is flushed, not closed) and
+     * returns the number of bytes written. Callers can wrap out, e.g. in a
+     * DigestOutputStream, to process the cleaned copy while it is produced.
+     */
+    public long removeMetadata(String fileType, File file, OutputStream out) throws Exception {
         if (!file.exists() || !file.isFile()) {
             throw new IllegalArgumentException("File does not exist or is not a valid file");
         }
 
+        long start = System.nanoTime();
+        SanitizeEvent event = new SanitizeEvent();
+        event.begin();
+        CountingOutputStream counter = new CountingOutputStream(
+                new ThrottledOutputStream(out, IoThrottle.global(), priority));
+        boolean succeeded = false;
+        try {
+            clean(fileType, file, counter);
+            counter.flush();
+            succeeded = true;
+            return counter.count;
+        } finally {
+            long bytesIn = file.length();
+            METRICS.record(start, bytesIn, succeeded);
+            BYTES_WRITTEN.add(counter.count);
+            if (event.shouldCommit()) {
+                event.path = file.getPath();
+                event.fileType = fileType;
+                event.bytesIn = bytesIn;
+                event.bytesOut = counter.count;
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    // Where removeMetadata(fileType, file) puts the cleaned copy: next to the original, with a "_cleaned" suffix
+    public static File cleanedFileFor(String fileType, File file) {
+        String path = file.getAbsolutePath();
         switch (fileType) {
             case "PDF":
-                removePdfMetadata(file);
+                return new File(getOutputPath(path, "_cleaned.pdf"));
+            case "IMAGE":
+                return new File(getOutputPath(path, "_cleaned" + getFileExtension(file.getName()).toLowerCase()));
+            case "DOCX":
+                return new File(getOutputPath(path, "_cleaned.docx"));
+            default:
+                throw new IllegalArgumentException("Unsupported file type: " + fileType);
+        }
+    }
+
+    private void clean(String fileType, File file, OutputStream out) throws Exception {
+        switch (fileType) {
+            case "PDF":
+                removePdfMetadata(file, out);
                 break;
             case "IMAGE":
-                removeImageMetadata(file);
+                removeImageMetadata(file, out);
                 break;
             case "DOCX":
-                removeDocxMetadata(file);
+                removeDocxMetadata(file, out);
                 break;
             default:
                 throw new IllegalArgumentException("Unsupported file type: " + fileType);
         }
     }
 
-    private static void removePdfMetadata(File file) throws IOException {
+    public File removePdfMetadata(File file) throws Exception {
+        return removeMetadata("PDF", file);
+    }
+
+    public void removePdfMetadata(File file, OutputStream out) throws IOException {
         // Uses PDFBox 2.x: PDDocument.load(File) is available
         try (PDDocument document = PDDocument.load(file)) {
             // Remove all metadata (XMP and Info dictionary)
             document.getDocumentCatalog().setMetadata(null);
-            document.getDocumentInformation().getCOSObject().clear(); 
+            document.getDocumentInformation().getCOSObject().clear();
             // Also clear the Document Information dictionary (Author, Title, etc.)
 
-            String outputPath = getOutputPath(file.getAbsolutePath(), "_cleaned.pdf");
-            document.save(outputPath);
-            System.out.println("Saved cleaned PDF: " + outputPath);
+            document.save(out);
         }
     }
 
-    private static void removeImageMetadata(File file) throws Exception {
+    public File removeImageMetadata(File file) throws Exception {
+        return removeMetadata("IMAGE", file);
+    }
+
+    public void removeImageMetadata(File file, OutputStream out) throws Exception {
         // First, read the image into a BufferedImage (all metadata is ignored)
         BufferedImage image = Imaging.getBufferedImage(file);
 
         String extension = getFileExtension(file.getName()).toLowerCase();
-        String outputPath = getOutputPath(file.getAbsolutePath(), "_cleaned" + extension);
 
         if (extension.equals(".jpg") || extension.equals(".jpeg")) {
             // For JPEG/JPG files, Apache Commons Imaging sometimes cannot write certain custom JPEG formats.
             // So we fall back to standard javax.imageio.ImageIO, which strips all metadata by default.
-            boolean success = ImageIO.write(image, "JPEG", new File(outputPath));
+            boolean success = ImageIO.write(image, "JPEG", out);
             if (!success) {
                 throw new IOException("ImageIO.write failed for JPEG output");
             }
-            System.out.println("Saved cleaned JPEG image via ImageIO: " + outputPath);
         } else {
-            // For other formats (PNG, GIF, BMP, TIFF), use Apache Commons Imaging:
+            // For other formats (PNG, GIF, BMP, TIFF), use Apache Commons Imaging.
+            // It encodes into memory first, so a failed attempt leaves nothing half-written in out.
             ImageFormats format = getImageFormat(extension);
             try {
-                Imaging.writeImage(image, new File(outputPath), format);
-                System.out.println("Saved cleaned image via Commons Imaging: " + outputPath);
+                out.write(Imaging.writeImageToBytes(image, format));
             } catch (ImageWriteException e) {
-                // If Commons Imaging still fails, you can optionally fall back to ImageIO as a last resort:
-                String fallbackType = extension.substring(1).toUpperCase(); 
+                // If Commons Imaging still fails, fall back to ImageIO as a last resort:
+                String fallbackType = extension.substring(1).toUpperCase();
                 // e.g., if ".png", fallbackType = "PNG"
-                boolean wrote = ImageIO.write(image, fallbackType, new File(outputPath));
+                boolean wrote = ImageIO.write(image, fallbackType, out);
                 if (!wrote) {
                     throw new IOException("Failed to write image as " + fallbackType + ": " + e.getMessage());
                 }
-                System.out.println("Saved cleaned image via ImageIO fallback (" + fallbackType + "): " + outputPath);
             }
         }
     }
 
-    private static void removeDocxMetadata(File file) throws IOException {
+    public File removeDocxMetadata(File file) throws Exception {
+        return removeMetadata("DOCX", file);
+    }
+
+    public void removeDocxMetadata(File file, OutputStream out) throws IOException {
         try (FileInputStream fis = new FileInputStream(file);
              XWPFDocument document = new XWPFDocument(fis)) {
 
@@ -155,11 +230,7 @@ public class MetadataRemoverApp {
                 }
             }
 
-            String outputPath = getOutputPath(file.getAbsolutePath(), "_cleaned.docx");
-            try (FileOutputStream fos = new FileOutputStream(outputPath)) {
-                document.write(fos);
-            }
-            System.out.println("Saved cleaned DOCX: " + outputPath);
+            document.write(out);
         }
     }
 
@@ -195,4 +266,30 @@ public class MetadataRemoverApp {
                 return ImageFormats.JPEG;
         }
     }
+
+    // Counts the bytes passed through, without closing the wrapped stream
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
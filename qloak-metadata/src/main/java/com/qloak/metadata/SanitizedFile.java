@@ -0,0 +1,43 @@
+package com.qloak.metadata;
+
+import java.io.File;
+
+/**
+ * A cleaned copy produced by ChecksummingSanitizer, with the SHA-256 of its content as it
+ * was written.
+ */
+public final class SanitizedFile {
+    private final File source;
+    private final File cleaned;
+    private final String checksum;
+    private final long size;
+
+    SanitizedFile(File source, File cleaned, String checksum, long size) {
+        this.source = source;
+        this.cleaned = cleaned;
+        this.checksum = checksum;
+        this.size = size;
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getCleaned() {
+        return cleaned;
+    }
+
+    // Lowercase hex, the same value FileHashCalculator would compute from the cleaned file
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    // "<checksum>  <name>", the sha256sum manifest format
+    public String toManifestLine() {
+        return checksum + "  " + cleaned.getName();
+    }
+}
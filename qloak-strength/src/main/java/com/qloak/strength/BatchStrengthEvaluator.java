@@ -0,0 +1,287 @@
+package com.qloak.strength;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.qloak.common.metrics.EvaluateEvent;
+import com.qloak.common.metrics.LatencyHistogram;
+import com.qloak.common.metrics.MetricsRegistry;
+
+/**
+ * Evaluates a newline-delimited stream of passwords across several worker threads.
+ * The reader fills fixed-size byte blocks that are recycled through a pool, and each worker
+ * decodes lines into its own reusable char buffer, so the per-password path allocates nothing.
+ * Blank lines are skipped (they would be rejected by Password); lines longer than a block are split.
+ * If a criterion or the scorer throws, the worker keeps recycling blocks so the reader never
+ * blocks, the reader stops early, and evaluate() rethrows the first failure.
+ */
+public class BatchStrengthEvaluator {
+    private static final int BLOCK_SIZE = 1 << 20;
+
+    // Per-password timing would cost as much as the evaluation, so batches are timed as a whole
+    private static final LatencyHistogram BATCH_DURATION =
+            MetricsRegistry.global().histogram("qloak_evaluate_batch_duration_seconds");
+
+    private final StrengthEvaluator evaluator;
+    private final Criterion[] criteria;
+    private final int threads;
+    private final PatternScorer scorer;
+
+    public BatchStrengthEvaluator(StrengthEvaluator evaluator, int threads) {
+        this(evaluator, threads, null);
+    }
+
+    // With a non-null scorer every password is also given a pattern score (0–4)
+    public BatchStrengthEvaluator(StrengthEvaluator evaluator, int threads, PatternScorer scorer) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        this.evaluator = evaluator;
+        this.criteria = evaluator.getCriteria().toArray(new Criterion[0]);
+        this.threads = threads;
+        this.scorer = scorer;
+    }
+
+    public StrengthAuditStats evaluate(InputStream in) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        EvaluateEvent event = new EvaluateEvent();
+        event.begin();
+
+        BlockingQueue<Block> free = new ArrayBlockingQueue<>(threads * 2);
+        BlockingQueue<Block> full = new ArrayBlockingQueue<>(threads * 2 + threads);
+        for (int i = 0; i < threads * 2; i++) {
+            free.add(new Block());
+        }
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Worker[] workers = new Worker[threads];
+        Thread[] workerThreads = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(free, full, failure);
+            workerThreads[i] = new Thread(workers[i], "strength-batch-" + i);
+            workerThreads[i].setDaemon(true);
+            workerThreads[i].start();
+        }
+
+        long bytesRead;
+        try {
+            bytesRead = readBlocks(in, free, full, failure);
+        } finally {
+            // One end-of-input marker per worker
+            for (int i = 0; i < threads; i++) {
+                full.put(Block.END);
+            }
+        }
+
+        StrengthAuditStats total = new StrengthAuditStats(criteria.length);
+        for (int i = 0; i < threads; i++) {
+            workerThreads[i].join();
+            total.merge(workers[i].stats);
+        }
+        rethrow(failure.get());
+
+        BATCH_DURATION.record(System.nanoTime() - start);
+        StrengthEvaluator.METRICS.recordBatch(total.getEvaluated(), bytesRead, 0);
+        if (event.shouldCommit()) {
+            event.policy = evaluator.getPolicy().getName();
+            event.passwords = total.getEvaluated();
+            event.commit();
+        }
+        return total;
+    }
+
+    private static void rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+    }
+
+    // Splits the input into blocks that end on a line boundary; the partial last line carries over.
+    // Returns the number of bytes read. Stops early once a worker has failed.
+    private long readBlocks(InputStream in, BlockingQueue<Block> free, BlockingQueue<Block> full,
+                            AtomicReference<Throwable> failure) throws IOException, InterruptedException {
+        Block block = free.take();
+        int filled = 0;
+        long total = 0;
+        while (true) {
+            if (failure.get() != null) {
+                free.put(block);
+                return total;
+            }
+            int read = in.read(block.data, filled, BLOCK_SIZE - filled);
+            if (read < 0) {
+                if (filled > 0) {
+                    block.length = filled;
+                    full.put(block);
+                } else {
+                    free.put(block);
+                }
+                return total;
+            }
+            total += read;
+            filled += read;
+            if (filled < BLOCK_SIZE) {
+                continue;
+            }
+
+            int lastNewline = filled - 1;
+            while (lastNewline >= 0 && block.data[lastNewline] != '\n') {
+                lastNewline--;
+            }
+            int cut = lastNewline >= 0 ? lastNewline + 1 : filled;
+
+            Block next = free.take();
+            int carry = filled - cut;
+            System.arraycopy(block.data, cut, next.data, 0, carry);
+            block.length = cut;
+            full.put(block);
+            block = next;
+            filled = carry;
+        }
+    }
+
+    private static final class Block {
+        static final Block END = new Block(0);
+
+        final byte[] data;
+        final ByteBuffer buffer;
+        int length;
+
+        Block() {
+            this(BLOCK_SIZE);
+        }
+
+        private Block(int size) {
+            this.data = new byte[size];
+            this.buffer = ByteBuffer.wrap(data);
+        }
+    }
+
+    private final class Worker implements Runnable {
+        private final BlockingQueue<Block> free;
+        private final BlockingQueue<Block> full;
+        private final AtomicReference<Throwable> failure;
+        private final StrengthAuditStats stats = new StrengthAuditStats(criteria.length);
+        private final char[] chars = new char[BLOCK_SIZE];
+        private final PasswordProfile profile = new PasswordProfile();
+        private final PatternScorer.Workspace workspace = new PatternScorer.Workspace();
+        private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        Worker(BlockingQueue<Block> free, BlockingQueue<Block> full, AtomicReference<Throwable> failure) {
+            this.free = free;
+            this.full = full;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    Block block = full.take();
+                    if (block == Block.END) {
+                        return;
+                    }
+                    // After a failure blocks are only recycled, so the reader can reach the end marker
+                    if (failure.get() == null) {
+                        try {
+                            processBlock(block);
+                        } catch (RuntimeException | Error e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                    free.put(block);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void processBlock(Block block) {
+            byte[] data = block.data;
+            int lineStart = 0;
+            for (int i = 0; i <= block.length; i++) {
+                if (i == block.length || data[i] == '\n') {
+                    int lineEnd = i;
+                    if (lineEnd > lineStart && data[lineEnd - 1] == '\r') {
+                        lineEnd--;
+                    }
+                    if (i < block.length || lineEnd > lineStart) {
+                        evaluateLine(block, lineStart, lineEnd);
+                    }
+                    lineStart = i + 1;
+                }
+            }
+        }
+
+        private void evaluateLine(Block block, int start, int end) {
+            int length = decode(block, start, end);
+            if (isBlank(length)) {
+                stats.recordSkipped();
+                return;
+            }
+            profile.scan(chars, 0, length);
+            int failures = 0;
+            for (int c = 0; c < criteria.length; c++) {
+                if (!criteria[c].test(profile)) {
+                    stats.recordFailure(c);
+                    failures++;
+                }
+            }
+            stats.recordRating(evaluator.rank(failures));
+            if (scorer != null) {
+                stats.recordScore(StrengthScore.scoreFor(scorer.log10Guesses(chars, 0, length, workspace)));
+            }
+        }
+
+        // Decodes one line into chars[0..n) and returns n; plain ASCII skips the CharsetDecoder.
+        private int decode(Block block, int start, int end) {
+            byte[] data = block.data;
+            boolean ascii = true;
+            for (int i = start; i < end; i++) {
+                if (data[i] < 0) {
+                    ascii = false;
+                    break;
+                }
+            }
+            if (ascii) {
+                for (int i = start; i < end; i++) {
+                    chars[i - start] = (char) data[i];
+                }
+                return end - start;
+            }
+
+            ByteBuffer in = block.buffer;
+            in.limit(end).position(start);
+            charBuffer.clear();
+            decoder.reset();
+            decoder.decode(in, charBuffer, true);
+            decoder.flush(charBuffer);
+            in.clear();
+            return charBuffer.position();
+        }
+
+        // Mirrors Password's constructor check (raw.trim().isEmpty())
+        private boolean isBlank(int length) {
+            for (int i = 0; i < length; i++) {
+                if (chars[i] > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.qloak.strength;
+
+/**
+ * Fails passwords that appear in an offline breached/common-password dataset.
+ * Backed by a memory-mapped BreachedPasswordFilter, so a check costs one SHA-1 and a few
+ * page reads no matter how large the dataset is. A Bloom filter has no false negatives;
+ * a small, configurable fraction of unbreached passwords is rejected as well.
+ */
+public class BreachedPasswordCriterion extends Criterion {
+    private final BreachedPasswordFilter filter;
+
+    public BreachedPasswordCriterion(BreachedPasswordFilter filter) {
+        super("Choose a password that has not appeared in known data breaches");
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            return false;
+        }
+        return !filter.mightContain(password);
+    }
+
+    // Hashes the profile's characters in place, so bulk evaluation never turns a password into a String
+    @Override
+    public boolean test(PasswordProfile profile) {
+        char[] chars = profile.sourceChars();
+        if (chars == null) {
+            // Scanned from a String, which already exists
+            return test(profile.asString());
+        }
+        return !filter.mightContain(chars, profile.sourceOffset(), profile.sourceLength());
+    }
+}
@@ -0,0 +1,243 @@
+package com.qloak.strength;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Bloom filter over SHA-1 hashes of leaked passwords, read through memory-mapped segments so
+ * hundreds of millions of entries cost almost no heap. The SHA-1 digest is used directly as the
+ * hash source (double hashing over its first 16 bytes), so filters can be built from plain password
+ * lists or from SHA-1 hash dumps alike.
+ *
+ * File layout (big-endian): "QLBF" magic, int version, int hash count, long bit count,
+ * long entry count, then the bit array (bit i is bit (i % 8) of byte i / 8).
+ */
+public class BreachedPasswordFilter {
+    private static final int MAGIC = 0x514C4246; // "QLBF"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final int SEGMENT_SHIFT = 30;  // 1 GiB mappings
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final ThreadLocal<MessageDigest> SHA1 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not supported", e);
+        }
+    });
+
+    // UTF-8 scratch for mightContain(char[], ...); wiped after every use
+    private static final ThreadLocal<byte[]> UTF8 = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private final MappedByteBuffer[] segments;
+    private final int hashCount;
+    private final long bitCount;
+    private final long entryCount;
+
+    private BreachedPasswordFilter(MappedByteBuffer[] segments, int hashCount, long bitCount, long entryCount) {
+        this.segments = segments;
+        this.hashCount = hashCount;
+        this.bitCount = bitCount;
+        this.entryCount = entryCount;
+    }
+
+    public static BreachedPasswordFilter open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a breach filter file: " + file);
+            }
+            int hashCount = header.getInt();
+            long bitCount = header.getLong();
+            long entryCount = header.getLong();
+            if (channel.size() < HEADER_BYTES + bitCount / 8) {
+                throw new IOException("Truncated breach filter file: " + file);
+            }
+            return new BreachedPasswordFilter(map(channel, FileChannel.MapMode.READ_ONLY, bitCount / 8),
+                    hashCount, bitCount, entryCount);
+        }
+    }
+
+    /**
+     * Builds a filter file from a newline-delimited list: plain passwords, or SHA-1 hex hashes
+     * (optionally followed by ":count", as in common breach dumps) when sha1Input is set.
+     * The list is read twice: once to size the filter for the target false-positive rate, once to fill it.
+     */
+    public static BreachedPasswordFilter build(Path input, Path output, double falsePositiveRate, boolean sha1Input)
+            throws IOException {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        long entries = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            while (reader.readLine() != null) {
+                entries++;
+            }
+        }
+        long n = Math.max(1, entries);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = (bits + 63) / 64 * 64;
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+
+        Files.deleteIfExists(output);
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(hashes).putLong(bits).putLong(entries).flip();
+            channel.write(header, 0);
+
+            BreachedPasswordFilter filter = new BreachedPasswordFilter(
+                    map(channel, FileChannel.MapMode.READ_WRITE, bits / 8), hashes, bits, entries);
+            MessageDigest sha1 = SHA1.get();
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    byte[] digest = sha1Input ? parseSha1Hex(line) : sha1.digest(line.getBytes(StandardCharsets.UTF_8));
+                    if (digest != null) {
+                        filter.add(digest);
+                    }
+                }
+            }
+            for (MappedByteBuffer segment : filter.segments) {
+                segment.force();
+            }
+            return filter;
+        }
+    }
+
+    public boolean mightContain(String password) {
+        return mightContainSha1(SHA1.get().digest(password.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Same as mightContain(String) for chars[offset, offset + length), without building a String:
+     * the text is UTF-8 encoded (lone surrogates become '?', as String.getBytes does) into a
+     * per-thread buffer that is zeroed afterwards.
+     */
+    public boolean mightContain(char[] chars, int offset, int length) {
+        byte[] utf8 = UTF8.get();
+        if (utf8.length < length * 3) {
+            utf8 = new byte[length * 3];
+            UTF8.set(utf8);
+        }
+        int n = 0;
+        int end = offset + length;
+        try {
+            for (int i = offset; i < end; i++) {
+                char c = chars[i];
+                if (c < 0x80) {
+                    utf8[n++] = (byte) c;
+                } else if (c < 0x800) {
+                    utf8[n++] = (byte) (0xc0 | c >> 6);
+                    utf8[n++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                    int cp = Character.toCodePoint(c, chars[++i]);
+                    utf8[n++] = (byte) (0xf0 | cp >> 18);
+                    utf8[n++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                    utf8[n++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                    utf8[n++] = (byte) (0x80 | cp & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    utf8[n++] = '?';
+                } else {
+                    utf8[n++] = (byte) (0xe0 | c >> 12);
+                    utf8[n++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    utf8[n++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+            MessageDigest sha1 = SHA1.get();
+            sha1.update(utf8, 0, n);
+            return mightContainSha1(sha1.digest());
+        } finally {
+            Arrays.fill(utf8, 0, n, (byte) 0);
+        }
+    }
+
+    public boolean mightContainSha1(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long byteIndex = bit >>> 3;
+            byte b = segments[(int) (byteIndex >>> SEGMENT_SHIFT)].get((int) (byteIndex & SEGMENT_MASK));
+            if ((b & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(byte[] digest) {
+        long h1 = readLong(digest, 0);
+        long h2 = readLong(digest, 8);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long byteIndex = bit >>> 3;
+            MappedByteBuffer segment = segments[(int) (byteIndex >>> SEGMENT_SHIFT)];
+            int offset = (int) (byteIndex & SEGMENT_MASK);
+            segment.put(offset, (byte) (segment.get(offset) | (1 << (bit & 7))));
+        }
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long bytes) throws IOException {
+        int count = (int) ((bytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(1, count)];
+        for (int i = 0; i < segments.length; i++) {
+            long offset = (long) i << SEGMENT_SHIFT;
+            long size = Math.min(1L << SEGMENT_SHIFT, bytes - offset);
+            segments[i] = channel.map(mode, HEADER_BYTES + offset, size);
+        }
+        return segments;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    // Parses "40-hex-digit SHA-1[:count]"; returns null for lines that aren't a hash
+    private static byte[] parseSha1Hex(String line) {
+        if (line.length() < 40) {
+            return null;
+        }
+        byte[] digest = new byte[20];
+        for (int i = 0; i < 20; i++) {
+            int hi = Character.digit(line.charAt(2 * i), 16);
+            int lo = Character.digit(line.charAt(2 * i + 1), 16);
+            if (hi < 0 || lo < 0) {
+                return null;
+            }
+            digest[i] = (byte) ((hi << 4) | lo);
+        }
+        return digest;
+    }
+}
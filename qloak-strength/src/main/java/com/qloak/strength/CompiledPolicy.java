@@ -0,0 +1,76 @@
+package com.qloak.strength;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The immutable, ready-to-run form of a PasswordPolicy: a fixed array of criteria plus the
+ * rating thresholds. Nothing is parsed or allocated per evaluation, and instances are safe
+ * to share between threads (all built-in criteria are stateless).
+ */
+public final class CompiledPolicy {
+    private static final class DefaultHolder {
+        static final CompiledPolicy INSTANCE = compileDefaults();
+
+        private static CompiledPolicy compileDefaults() {
+            try {
+                return PasswordPolicy.defaults().compile();
+            } catch (IOException e) {
+                // The default policy has no breach filter, so compiling it does no I/O.
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private final String name;
+    private final Criterion[] criteria;
+    private final List<Criterion> criteriaView;
+    private final int strongMaxFailures;
+    private final int moderateMaxFailures;
+
+    CompiledPolicy(String name, List<Criterion> criteria, int strongMaxFailures, int moderateMaxFailures) {
+        this.name = name;
+        this.criteria = criteria.toArray(new Criterion[0]);
+        this.criteriaView = Collections.unmodifiableList(Arrays.asList(this.criteria));
+        this.strongMaxFailures = strongMaxFailures;
+        this.moderateMaxFailures = moderateMaxFailures;
+    }
+
+    public static CompiledPolicy defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    // A copy of this policy with extra criteria appended.
+    public CompiledPolicy with(List<Criterion> additionalCriteria) {
+        List<Criterion> combined = new ArrayList<>(criteriaView);
+        combined.addAll(additionalCriteria);
+        return new CompiledPolicy(name, combined, strongMaxFailures, moderateMaxFailures);
+    }
+
+    // Maps a number of failed criteria to an index into StrengthEvaluator.RATINGS.
+    public int rank(int failures) {
+        if (failures <= strongMaxFailures) {
+            return 2;   // Strong
+        } else if (failures <= moderateMaxFailures) {
+            return 1;   // Moderate
+        } else {
+            return 0;   // Weak
+        }
+    }
+
+    // Backing array for the evaluation loop; callers must not modify it.
+    Criterion[] criteria() {
+        return criteria;
+    }
+
+    public List<Criterion> getCriteria() {
+        return criteriaView;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,44 @@
+package com.qloak.strength;
+
+/**
+ * An abstract base class representing a single "strength criterion".
+ * We use an abstract class (instead of an interface) because we want to share a protected
+ * field (suggestion) across all subclasses. This demonstrates the use of protected visibility
+ * and common code placement. Subclasses override test(...) to implement specific rules.
+ */
+public abstract class Criterion {
+    // Protected so that subclasses can access or modify if extended further.
+    protected String suggestion;
+
+    // Constructor sets the suggestion message for any failing password.
+    public Criterion(String suggestion) {
+        this.suggestion = suggestion;
+    }
+
+    // Abstract method each subclass must implement to test its own rule.
+    public abstract boolean test(String password);
+
+    // Tests a password that has already been summarized by a single PasswordProfile scan.
+    // The default falls back to test(String) so custom criteria keep working unchanged; the
+    // built-in criteria override it with bitmask/counter checks and never rescan the password.
+    public boolean test(PasswordProfile profile) {
+        return test(profile.asString());
+    }
+
+    // Constraints this criterion imposes, so PasswordGenerator can satisfy it by construction:
+    // PasswordProfile class bits that must each occur at least once (0 if the rule is not about classes)...
+    public int requiredClasses() {
+        return 0;
+    }
+
+    // ...and the minimum length in code points (0 if the rule is not about length).
+    public int minimumLength() {
+        return 0;
+    }
+
+    // Returns the suggestion message. Kept public so external classes (e.g., StrengthEvaluator)
+    // can retrieve it when a test fails.
+    public String getSuggestion() {
+        return suggestion;
+    }
+}
@@ -0,0 +1,29 @@
+package com.qloak.strength;
+
+/**
+ * Checks that a password contains at least one digit (0–9).
+ */
+public class DigitCriterion extends Criterion {
+
+    public DigitCriterion() {
+        super("Add at least one digit (0-9)");
+    }
+
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            return false;
+        }
+        return test(PasswordProfile.of(password));
+    }
+
+    @Override
+    public boolean test(PasswordProfile profile) {
+        return profile.has(PasswordProfile.DIGIT);
+    }
+
+    @Override
+    public int requiredClasses() {
+        return PasswordProfile.DIGIT;
+    }
+}
@@ -0,0 +1,11 @@
+package com.qloak.strength;
+
+/**
+ * Custom checked exception thrown when the Password object is constructed with invalid input.
+ * Demonstrates exception handling by extending Exception (checked exception).
+ */
+public class InvalidPasswordException extends Exception {
+    public InvalidPasswordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,45 @@
+package com.qloak.strength;
+
+/**
+ * Checks that a password meets a minimum length requirement.
+ * Demonstrates inheritance from Criterion and method overriding.
+ * Uses a protected field minLength, which could be accessed by future subclasses if extended.
+ */
+public class LengthCriterion extends Criterion {
+    // Protected to allow potential subclasses (e.g., a more complex length-checking rule) to use it.
+    protected int minLength;
+
+    // Single-argument constructor initializes the minimum length and sets the suggestion.
+    public LengthCriterion(int minLength) {
+        super("Make your password at least " + minLength + " characters long");
+        this.minLength = minLength;
+    }
+
+    // Overrides the abstract test method to check length.
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            // We could throw an exception here, but we'll let StrengthEvaluator handle null-check separately.
+            return false;
+        }
+        // Here is a trivial "safe" example of an impossible scenario check:
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Minimum length cannot be negative");
+        }
+        // Count code points, so a supplementary character is one character
+        return password.codePointCount(0, password.length()) >= minLength;
+    }
+
+    @Override
+    public boolean test(PasswordProfile profile) {
+        if (minLength < 0) {
+            throw new IllegalArgumentException("Minimum length cannot be negative");
+        }
+        return profile.length() >= minLength;
+    }
+
+    @Override
+    public int minimumLength() {
+        return minLength;
+    }
+}
@@ -0,0 +1,30 @@
+package com.qloak.strength;
+
+/**
+ * Checks that a password contains at least one lowercase letter.
+ * Similar to UppercaseCriterion—demonstrates code reuse via inheritance.
+ */
+public class LowercaseCriterion extends Criterion {
+
+    public LowercaseCriterion() {
+        super("Add at least one lowercase letter (a-z)");
+    }
+
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            return false;
+        }
+        return test(PasswordProfile.of(password));
+    }
+
+    @Override
+    public boolean test(PasswordProfile profile) {
+        return profile.has(PasswordProfile.LOWER);
+    }
+
+    @Override
+    public int requiredClasses() {
+        return PasswordProfile.LOWER;
+    }
+}
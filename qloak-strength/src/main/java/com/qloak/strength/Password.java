@@ -0,0 +1,22 @@
+package com.qloak.strength;
+
+/**
+ * Encapsulates the raw password string. Throws InvalidPasswordException if constructed with null or empty.
+ * Demonstrates encapsulation: raw is private, only accessible via getter.
+ */
+public class Password {
+    private String raw; // private for encapsulation
+
+    // Constructor validates the input; if invalid, throws our custom exception.
+    public Password(String raw) throws InvalidPasswordException {
+        if (raw == null || raw.trim().isEmpty()) {
+            throw new InvalidPasswordException("Password cannot be null or empty.");
+        }
+        this.raw = raw;
+    }
+
+    // Public getter for the raw password.
+    public String getRaw() {
+        return raw;
+    }
+}
@@ -0,0 +1,355 @@
+package com.qloak.strength;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates random passwords and passphrases that satisfy a StrengthEvaluator's policy by
+ * construction: the length is raised to the policy minimum and one character of every required
+ * class is placed at a random distinct position, so no candidate is ever generated and rejected.
+ * Criteria that declare no constraints (e.g., the breach check) are not covered by that guarantee;
+ * random output passes them with overwhelming probability.
+ *
+ * Randomness comes from one DRBG SecureRandom per thread, so parallel bulk generation never
+ * contends on a shared generator. Results are char[] so callers can wipe them after use.
+ */
+public class PasswordGenerator {
+    private static final char[] UPPER_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final char[] LOWER_CHARS = "abcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final char[] DIGIT_CHARS = "0123456789".toCharArray();
+    // No quotes, backslash, colon or space: generated passwords must survive shells and the vault file format
+    private static final char[] SYMBOL_CHARS = "!@#$%^&*()-_=+[]{};,.?/~".toCharArray();
+    private static final char[] ALL_CHARS = (new String(UPPER_CHARS) + new String(LOWER_CHARS)
+            + new String(DIGIT_CHARS) + new String(SYMBOL_CHARS)).toCharArray();
+    private static final int[] CLASS_BITS = {PasswordProfile.UPPER, PasswordProfile.LOWER,
+            PasswordProfile.DIGIT, PasswordProfile.SYMBOL};
+    private static final char[][] CLASS_CHARS = {UPPER_CHARS, LOWER_CHARS, DIGIT_CHARS, SYMBOL_CHARS};
+
+    // Short, distinct, lowercase words for passphrases (~8.9 bits each)
+    private static final String[] DEFAULT_WORDS = {
+            "able", "acid", "aged", "also", "area", "army", "away", "baby", "back", "ball", "band", "bank",
+            "base", "bath", "bear", "beat", "been", "beer", "bell", "belt", "best", "bird", "blow", "blue",
+            "boat", "body", "bond", "bone", "book", "boom", "born", "boss", "both", "bowl", "bulk", "burn",
+            "bush", "busy", "cake", "call", "calm", "came", "camp", "card", "care", "case", "cash", "cast",
+            "cell", "chat", "chip", "city", "club", "coal", "coat", "code", "cold", "come", "cook", "cool",
+            "cope", "copy", "core", "cost", "crew", "crop", "dark", "data", "date", "dawn", "deal", "dear",
+            "debt", "deep", "deny", "desk", "dial", "diet", "disk", "door", "dose", "down", "draw", "drew",
+            "drop", "dual", "duke", "dust", "duty", "each", "earn", "ease", "east", "easy", "edge", "else",
+            "even", "ever", "exit", "face", "fact", "fair", "fall", "farm", "fast", "fate", "fear", "feed",
+            "feel", "fell", "file", "fill", "film", "find", "fine", "fire", "firm", "fish", "five", "flat",
+            "flow", "food", "foot", "form", "fort", "four", "free", "from", "fuel", "full", "fund", "gain",
+            "game", "gate", "gave", "gear", "gift", "girl", "give", "glad", "goal", "gold", "golf", "gone",
+            "good", "gray", "grew", "grey", "grow", "gulf", "hair", "half", "hall", "hand", "hang", "hard",
+            "harm", "hate", "have", "head", "hear", "heat", "held", "help", "here", "hero", "high", "hill",
+            "hire", "hold", "hole", "holy", "home", "hope", "host", "hour", "huge", "hung", "hunt", "hurt",
+            "idea", "inch", "into", "iron", "item", "jack", "join", "jump", "jury", "just", "keen", "keep",
+            "kept", "kick", "kind", "king", "knee", "knew", "know", "lack", "lady", "laid", "lake", "land",
+            "lane", "last", "late", "lead", "left", "less", "life", "lift", "like", "line", "link", "list",
+            "live", "load", "loan", "lock", "logo", "long", "look", "lord", "lose", "loss", "lost", "love",
+            "luck", "made", "mail", "main", "make", "male", "many", "mark", "mass", "meal", "mean", "meat",
+            "meet", "menu", "mere", "mile", "milk", "mill", "mind", "mine", "miss", "mode", "mood", "moon",
+            "more", "most", "move", "much", "must", "name", "navy", "near", "neck", "need", "news", "next",
+            "nice", "nine", "none", "nose", "note", "okay", "once", "only", "open", "oral", "over", "pace",
+            "pack", "page", "paid", "pain", "pair", "palm", "park", "part", "pass", "past", "path", "peak",
+            "pick", "pink", "pipe", "plan", "play", "plot", "plug", "plus", "poll", "pool", "poor", "port",
+            "post", "pull", "pure", "push", "race", "rail", "rain", "rank", "rare", "rate", "read", "real",
+            "rear", "rely", "rent", "rest", "rice", "rich", "ride", "ring", "rise", "risk", "road", "rock",
+            "role", "roll", "roof", "room", "root", "rose", "rule", "rush", "safe", "said", "sake", "sale",
+            "salt", "same", "sand", "save", "seat", "seed", "seek", "seem", "seen", "self", "sell", "send",
+            "sent", "ship", "shop", "shot", "show", "shut", "sick", "side", "sign", "site", "size", "skin",
+            "slip", "slow", "snow", "soft", "soil", "sold", "sole", "some", "song", "soon", "sort", "soul",
+            "spot", "star", "stay", "step", "stop", "such", "suit", "sure", "take", "tale", "talk", "tall",
+            "tank", "tape", "task", "team", "tech", "tell", "tend", "term", "test", "text", "than", "that",
+            "them", "then", "they", "thin", "this", "thus", "till", "time", "tiny", "told", "toll", "tone",
+            "tool", "tour", "town", "tree", "trip", "true", "tune", "turn", "twin", "type", "unit", "upon",
+            "used", "user", "vary", "vast", "very", "vice", "view", "vote", "wage", "wait", "wake", "walk",
+            "wall", "want", "ward", "warm", "wash", "wave", "ways", "weak", "wear", "week", "well", "went",
+            "were", "west", "what", "when", "whom", "wide", "wife", "wild", "will", "wind", "wine", "wing",
+            "wire", "wise", "wish", "with", "wood", "word", "wore", "work", "yard", "yeah", "year", "your",
+            "zero", "zone"
+    };
+
+    private static final ThreadLocal<BufferedRandom> RANDOM = ThreadLocal.withInitial(BufferedRandom::new);
+
+    /**
+     * A thread's own DRBG, read in 4 KiB blocks so each draw is a few array reads rather than a
+     * DRBG call. Draws are unbiased (rejection sampling) and consumed bytes are wiped.
+     */
+    private static final class BufferedRandom {
+        private final SecureRandom random;
+        private final byte[] buffer = new byte[4096];
+        private int position = buffer.length;
+
+        BufferedRandom() {
+            SecureRandom drbg;
+            try {
+                drbg = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                drbg = new SecureRandom();
+            }
+            this.random = drbg;
+        }
+
+        // Uniform value in [0, bound): two bytes per draw for bound <= 65536, four (31 bits) above
+        int nextInt(int bound) {
+            int bytes = bound <= 65536 ? 2 : 4;
+            long range = bytes == 2 ? 65536 : 1L << 31;
+            long limit = range - range % bound;
+            while (true) {
+                if (position + bytes > buffer.length) {
+                    random.nextBytes(buffer);
+                    position = 0;
+                }
+                long value = 0;
+                for (int i = 0; i < bytes; i++) {
+                    value = (value << 8) | (buffer[position] & 0xFF);
+                    buffer[position++] = 0;
+                }
+                value &= range - 1;
+                if (value < limit) {
+                    return (int) (value % bound);
+                }
+            }
+        }
+    }
+
+    /**
+     * What to generate: random passwords of a given length, or passphrases of a given word count.
+     */
+    public static final class Mode {
+        final boolean passphrase;
+        final int size;
+
+        private Mode(boolean passphrase, int size) {
+            this.passphrase = passphrase;
+            this.size = size;
+        }
+
+        public static Mode random(int length) {
+            return new Mode(false, length);
+        }
+
+        public static Mode passphrase(int words) {
+            return new Mode(true, words);
+        }
+    }
+
+    private final int requiredClasses;
+    private final int minLength;
+    private final char[][] words;
+
+    public PasswordGenerator(StrengthEvaluator evaluator) {
+        this(evaluator, DEFAULT_WORDS);
+    }
+
+    public PasswordGenerator(StrengthEvaluator evaluator, String[] wordList) {
+        int classes = 0;
+        int length = 0;
+        for (Criterion criterion : evaluator.getCriteria()) {
+            classes |= criterion.requiredClasses();
+            length = Math.max(length, criterion.minimumLength());
+        }
+        int unsupported = classes & ~(PasswordProfile.UPPER | PasswordProfile.LOWER
+                | PasswordProfile.DIGIT | PasswordProfile.SYMBOL);
+        if (wordList.length == 0) {
+            throw new IllegalArgumentException("Word list cannot be empty");
+        }
+        if (unsupported != 0) {
+            throw new IllegalArgumentException("Policy requires character classes the generator cannot produce");
+        }
+        this.requiredClasses = classes;
+        this.minLength = length;
+        this.words = new char[wordList.length][];
+        for (int i = 0; i < wordList.length; i++) {
+            words[i] = wordList[i].toLowerCase(Locale.ROOT).toCharArray();
+        }
+    }
+
+    public char[] generate(Mode mode) {
+        return mode.passphrase ? generatePassphrase(mode.size) : generateRandom(mode.size);
+    }
+
+    // Random characters from all classes, with every required class guaranteed at least once.
+    public char[] generateRandom(int requestedLength) {
+        BufferedRandom random = RANDOM.get();
+        int length = Math.max(Math.max(requestedLength, minLength), Integer.bitCount(requiredClasses));
+        char[] password = new char[length];
+        for (int i = 0; i < length; i++) {
+            password[i] = ALL_CHARS[random.nextInt(ALL_CHARS.length)];
+        }
+
+        // Partial Fisher-Yates over the positions picks a distinct slot for each required class
+        int[] positions = new int[length];
+        for (int i = 0; i < length; i++) {
+            positions[i] = i;
+        }
+        int placed = 0;
+        for (int c = 0; c < CLASS_BITS.length; c++) {
+            if ((requiredClasses & CLASS_BITS[c]) == 0) {
+                continue;
+            }
+            int j = placed + random.nextInt(length - placed);
+            int slot = positions[j];
+            positions[j] = positions[placed];
+            positions[placed] = slot;
+            password[slot] = CLASS_CHARS[c][random.nextInt(CLASS_CHARS[c].length)];
+            placed++;
+        }
+        return password;
+    }
+
+    /**
+     * Lowercase words joined by a separator symbol. When the policy asks for them, one random word
+     * is capitalized and one gets a random digit appended; words are added until the minimum
+     * length is reached.
+     */
+    public char[] generatePassphrase(int wordCount) {
+        BufferedRandom random = RANDOM.get();
+        int count = Math.max(1, wordCount);
+        int[] picks = new int[Math.max(count, minLength + 1)];
+        int length = 0;
+        int n = 0;
+        while (n < count || length < minLength) {
+            picks[n] = random.nextInt(words.length);
+            length += words[picks[n]].length + (n > 0 ? 1 : 0);
+            n++;
+        }
+        boolean needsDigit = (requiredClasses & PasswordProfile.DIGIT) != 0;
+        boolean needsUpper = (requiredClasses & PasswordProfile.UPPER) != 0;
+        // A single-word phrase has no separator, so a required symbol is appended instead
+        boolean appendSymbol = n == 1 && (requiredClasses & PasswordProfile.SYMBOL) != 0;
+        int digitWord = random.nextInt(n);
+        int upperWord = random.nextInt(n);
+        char separator = (requiredClasses & PasswordProfile.SYMBOL) != 0
+                ? SYMBOL_CHARS[random.nextInt(SYMBOL_CHARS.length)]
+                : '-';
+
+        char[] phrase = new char[length + (needsDigit ? 1 : 0) + (appendSymbol ? 1 : 0)];
+        int pos = 0;
+        for (int w = 0; w < n; w++) {
+            if (w > 0) {
+                phrase[pos++] = separator;
+            }
+            char[] word = words[picks[w]];
+            System.arraycopy(word, 0, phrase, pos, word.length);
+            if (needsUpper && w == upperWord) {
+                phrase[pos] = Character.toUpperCase(phrase[pos]);
+            }
+            pos += word.length;
+            if (needsDigit && w == digitWord) {
+                phrase[pos++] = DIGIT_CHARS[random.nextInt(DIGIT_CHARS.length)];
+            }
+        }
+        if (appendSymbol) {
+            phrase[pos] = separator;
+        }
+        return phrase;
+    }
+
+    /**
+     * Generates {@code count} passwords, one per line, across {@code threads} workers. Each worker
+     * buffers its output locally and hands it to the writer in large chunks; plaintext buffers are
+     * wiped after being written. If a worker fails, the others are stopped and its exception
+     * (IOException, RuntimeException or Error) is rethrown here.
+     */
+    public void generateBulk(long count, Mode mode, int threads, Writer out) throws IOException, InterruptedException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Password count cannot be negative");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        Objects.requireNonNull(mode);
+        Objects.requireNonNull(out);
+
+        int workers = (int) Math.min(threads, Math.max(1, count));
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers,
+                r -> new Thread(r, "password-generator-" + threadNumber.getAndIncrement()));
+        Object writeLock = new Object();
+        try {
+            // Results in completion order, so the first failure is seen while the other workers still run
+            CompletionService<Void> results = new ExecutorCompletionService<>(pool);
+            for (int t = 0; t < workers; t++) {
+                long share = count / workers + (t < count % workers ? 1 : 0);
+                results.submit(() -> {
+                    generateShare(share, mode, out, writeLock);
+                    return null;
+                });
+            }
+            for (int t = 0; t < workers; t++) {
+                try {
+                    results.take().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+        } finally {
+            // After a failure (or an interrupt), stop the remaining workers at their next chunk
+            pool.shutdownNow();
+        }
+    }
+
+    private void generateShare(long share, Mode mode, Writer out, Object writeLock) throws IOException {
+        char[] chunk = new char[64 * 1024];
+        int used = 0;
+        try {
+            for (long i = 0; i < share; i++) {
+                char[] password = generate(mode);
+                try {
+                    if (used + password.length + 1 > chunk.length) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Password generation stopped");
+                        }
+                        flush(out, writeLock, chunk, used);
+                        used = 0;
+                    }
+                    if (password.length + 1 > chunk.length) {
+                        // Longer than a whole chunk: goes to the writer as is
+                        synchronized (writeLock) {
+                            out.write(password);
+                            out.write('\n');
+                        }
+                        continue;
+                    }
+                    System.arraycopy(password, 0, chunk, used, password.length);
+                    used += password.length;
+                    chunk[used++] = '\n';
+                } finally {
+                    Arrays.fill(password, '\0');
+                }
+            }
+            flush(out, writeLock, chunk, used);
+        } finally {
+            Arrays.fill(chunk, '\0');
+        }
+    }
+
+    private static void flush(Writer out, Object lock, char[] chunk, int used) throws IOException {
+        synchronized (lock) {
+            out.write(chunk, 0, used);
+        }
+    }
+}
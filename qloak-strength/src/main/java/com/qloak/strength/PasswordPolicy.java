@@ -0,0 +1,130 @@
+package com.qloak.strength;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * A password policy definition, loaded from a properties file such as:
+ *
+ *   name=tenant-a
+ *   min.length=12
+ *   require.uppercase=true
+ *   require.lowercase=true
+ *   require.digit=true
+ *   require.symbol=false
+ *   breach.filter=/var/lib/qloak/leaked.bf
+ *   rating.strong.max.failures=0
+ *   rating.moderate.max.failures=2
+ *
+ * Missing keys fall back to the built-in defaults. compile() turns the definition into
+ * an immutable CompiledPolicy that can be shared by any number of threads.
+ */
+public class PasswordPolicy {
+    private final String name;
+    private final int minLength;
+    private final boolean requireUppercase;
+    private final boolean requireLowercase;
+    private final boolean requireDigit;
+    private final boolean requireSymbol;
+    private final String breachFilter;
+    private final int strongMaxFailures;
+    private final int moderateMaxFailures;
+
+    private PasswordPolicy(String name, Properties props) {
+        this.name = props.getProperty("name", name);
+        this.minLength = intProperty(props, "min.length", 8);
+        this.requireUppercase = booleanProperty(props, "require.uppercase", true);
+        this.requireLowercase = booleanProperty(props, "require.lowercase", true);
+        this.requireDigit = booleanProperty(props, "require.digit", true);
+        this.requireSymbol = booleanProperty(props, "require.symbol", true);
+        String filter = props.getProperty("breach.filter", "").trim();
+        this.breachFilter = filter.isEmpty() ? null : filter;
+        this.strongMaxFailures = intProperty(props, "rating.strong.max.failures", 0);
+        this.moderateMaxFailures = intProperty(props, "rating.moderate.max.failures", 2);
+
+        if (minLength < 0) {
+            throw new IllegalArgumentException("min.length cannot be negative");
+        }
+        if (strongMaxFailures < 0 || moderateMaxFailures < strongMaxFailures) {
+            throw new IllegalArgumentException(
+                    "Rating thresholds must satisfy 0 <= rating.strong.max.failures <= rating.moderate.max.failures");
+        }
+    }
+
+    public static PasswordPolicy defaults() {
+        return new PasswordPolicy("default", new Properties());
+    }
+
+    // The policy name defaults to the file name without its extension.
+    public static PasswordPolicy load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        }
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return new PasswordPolicy(dot > 0 ? fileName.substring(0, dot) : fileName, props);
+    }
+
+    public static PasswordPolicy fromProperties(String name, Properties props) {
+        return new PasswordPolicy(name, props);
+    }
+
+    // Builds the criteria once; opening the breach filter (if any) is the only I/O.
+    public CompiledPolicy compile() throws IOException {
+        List<Criterion> criteria = new ArrayList<>();
+
+        // Up-casting: each concrete Criterion is stored as a Criterion reference.
+        criteria.add(new LengthCriterion(minLength));
+        if (requireUppercase) {
+            criteria.add(new UppercaseCriterion());
+        }
+        if (requireLowercase) {
+            criteria.add(new LowercaseCriterion());
+        }
+        if (requireDigit) {
+            criteria.add(new DigitCriterion());
+        }
+        if (requireSymbol) {
+            criteria.add(new SymbolCriterion());
+        }
+        if (breachFilter != null) {
+            criteria.add(new BreachedPasswordCriterion(BreachedPasswordFilter.open(Path.of(breachFilter))));
+        }
+        return new CompiledPolicy(name, criteria, strongMaxFailures, moderateMaxFailures);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+        }
+    }
+
+    private static boolean booleanProperty(Properties props, String key, boolean defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        value = value.trim();
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        throw new IllegalArgumentException("Invalid boolean for " + key + ": " + value);
+    }
+}
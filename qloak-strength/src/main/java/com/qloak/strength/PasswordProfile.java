@@ -0,0 +1,186 @@
+package com.qloak.strength;
+
+import java.util.Arrays;
+
+/**
+ * A compact summary of a password built in a single pass over its characters: a bitmask of the
+ * character classes that occur plus a counter per class. Criteria are predicates over this profile,
+ * so evaluating N criteria costs one scan instead of N copies and N scans.
+ * A profile is mutable and can be reused (e.g., one per batch worker) via scan(...).
+ *
+ * Classification works on Unicode code points, so supplementary characters (e.g., U+1D400,
+ * mathematical bold capital A) land in the right class. ASCII characters are classified through
+ * a lookup table; the Character-based Unicode path only runs once a non-ASCII char shows up.
+ */
+public class PasswordProfile {
+    // Character-class bits. Every code point falls into at most one class; combining marks,
+    // format and control characters fall into none.
+    public static final int UPPER = 1;          // uppercase and titlecase letters
+    public static final int LOWER = 1 << 1;
+    public static final int DIGIT = 1 << 2;     // any Unicode decimal digit
+    public static final int SYMBOL = 1 << 3;    // punctuation, symbols, emoji (not whitespace)
+    public static final int WHITESPACE = 1 << 4;
+    public static final int OTHER_LETTER = 1 << 5; // letters without case (CJK, Arabic, ...)
+    private static final int CLASS_COUNT = 6;
+
+    // Class bit for each ASCII char, built with the same rules as the Unicode path.
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            ASCII_CLASSES[c] = (byte) classify(c);
+        }
+    }
+
+    private final int[] counts = new int[CLASS_COUNT];
+    private int classMask;
+    private int length;
+
+    // Source of the scanned characters, kept so asString() can rebuild the text on demand.
+    private char[] chars;
+    private int offset;
+    private int charCount;
+    private String raw;
+
+    public static PasswordProfile of(String password) {
+        PasswordProfile profile = new PasswordProfile();
+        profile.scan(password);
+        return profile;
+    }
+
+    public PasswordProfile scan(String password) {
+        reset();
+        raw = password;
+        charCount = password.length();
+        int i = 0;
+        // ASCII fast path
+        for (; i < charCount; i++) {
+            char c = password.charAt(i);
+            if (c >= 128) {
+                break;
+            }
+            addClass(ASCII_CLASSES[c]);
+        }
+        length = i;
+        // Unicode path for the remainder, one code point at a time
+        while (i < charCount) {
+            int cp = password.codePointAt(i);
+            addClass(classify(cp));
+            length++;
+            i += Character.charCount(cp);
+        }
+        return this;
+    }
+
+    public PasswordProfile scan(char[] source, int start, int count) {
+        reset();
+        chars = source;
+        offset = start;
+        charCount = count;
+        int end = start + count;
+        int i = start;
+        // ASCII fast path
+        for (; i < end; i++) {
+            char c = source[i];
+            if (c >= 128) {
+                break;
+            }
+            addClass(ASCII_CLASSES[c]);
+        }
+        length = i - start;
+        // Unicode path for the remainder, one code point at a time
+        while (i < end) {
+            int cp = Character.codePointAt(source, i, end);
+            addClass(classify(cp));
+            length++;
+            i += Character.charCount(cp);
+        }
+        return this;
+    }
+
+    private void reset() {
+        classMask = 0;
+        Arrays.fill(counts, 0);
+        chars = null;
+        raw = null;
+    }
+
+    private void addClass(int classBit) {
+        if (classBit != 0) {
+            classMask |= classBit;
+            counts[Integer.numberOfTrailingZeros(classBit)]++;
+        }
+    }
+
+    // Unicode classification of one code point; returns a single class bit or 0.
+    static int classify(int cp) {
+        if (Character.isUpperCase(cp) || Character.isTitleCase(cp)) {
+            return UPPER;
+        }
+        if (Character.isLowerCase(cp)) {
+            return LOWER;
+        }
+        if (Character.isDigit(cp)) {
+            return DIGIT;
+        }
+        if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+            return WHITESPACE;
+        }
+        if (Character.isLetter(cp)) {
+            return OTHER_LETTER;
+        }
+        switch (Character.getType(cp)) {
+            case Character.CONTROL:
+            case Character.FORMAT:
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.UNASSIGNED:
+            case Character.PRIVATE_USE:
+            case Character.SURROGATE:
+                return 0;
+            default:
+                return SYMBOL;
+        }
+    }
+
+    // Length in code points (a supplementary character counts once).
+    public int length() {
+        return length;
+    }
+
+    public int classMask() {
+        return classMask;
+    }
+
+    public boolean has(int classBits) {
+        return (classMask & classBits) == classBits;
+    }
+
+    // Number of code points in a single class, e.g. count(PasswordProfile.DIGIT)
+    public int count(int classBit) {
+        return counts[Integer.numberOfTrailingZeros(classBit)];
+    }
+
+    // The char[] a profile was scanned from (null if it came from a String), with its offset and
+    // length, for criteria that read the text without building a String.
+    char[] sourceChars() {
+        return chars;
+    }
+
+    int sourceOffset() {
+        return offset;
+    }
+
+    int sourceLength() {
+        return charCount;
+    }
+
+    // The scanned password as a String; only built when a criterion actually asks for it.
+    public String asString() {
+        if (raw == null && chars != null) {
+            raw = new String(chars, offset, charCount);
+        }
+        return raw;
+    }
+}
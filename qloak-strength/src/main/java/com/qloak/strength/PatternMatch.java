@@ -0,0 +1,52 @@
+package com.qloak.strength;
+
+/**
+ * One component of a password as explained by PatternScorer: which pattern produced it,
+ * the covered text and how many guesses an attacker needs for that piece.
+ */
+public class PatternMatch {
+    private final String pattern;
+    private final String token;
+    private final double guesses;
+
+    public PatternMatch(String pattern, String token, double guesses) {
+        this.pattern = pattern;
+        this.token = token;
+        this.guesses = guesses;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public double getGuesses() {
+        return guesses;
+    }
+
+    // Advice for the user, or null for brute-force pieces that follow no pattern
+    public String getFeedback() {
+        switch (pattern) {
+            case "dictionary":
+                return "Avoid common words and passwords such as '" + token + "', even with capitals or l33t substitutions";
+            case "spatial":
+                return "Avoid keyboard patterns such as '" + token + "'";
+            case "repeat":
+                return "Avoid repeated characters or chunks such as '" + token + "'";
+            case "sequence":
+                return "Avoid predictable sequences such as '" + token + "'";
+            case "date":
+                return "Avoid dates and years such as '" + token + "'";
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pattern + "('" + token + "')";
+    }
+}
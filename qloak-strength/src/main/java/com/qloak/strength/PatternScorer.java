@@ -0,0 +1,700 @@
+package com.qloak.strength;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Locale;
+
+/**
+ * Estimates how many guesses an attacker needs for a password, in the spirit of zxcvbn.
+ * Matchers find dictionary words (including leetspeak and capitalization variants), keyboard
+ * walks, repeats, character sequences and dates; dynamic programming then picks the
+ * decomposition of the password into matches and brute-force gaps with the fewest guesses.
+ *
+ * All tables (dictionary trie, keyboard adjacency, leet map) are built once, so a scorer is
+ * immutable and thread-safe. The Workspace overload lets bulk callers score without allocating.
+ */
+public class PatternScorer {
+    // Passwords longer than this are analyzed on a prefix; the rest is counted as brute force.
+    static final int MAX_ANALYZED = 64;
+
+    private static final int DICTIONARY = 0;
+    private static final int SPATIAL = 1;
+    private static final int REPEAT = 2;
+    private static final int SEQUENCE = 3;
+    private static final int DATE = 4;
+    private static final String[] KIND_NAMES = {"dictionary", "spatial", "repeat", "sequence", "date"};
+
+    private static final double LOG10_MIN_SUBMATCH_SINGLE = 1.0;           // 10 guesses
+    private static final double LOG10_MIN_SUBMATCH_MULTI = Math.log10(50); // 50 guesses
+    private static final double LOG10_SEQUENCE_GROWTH = 4.0;               // 10^4 per extra match
+    private static final double LOG10_SINGLE_BRUTEFORCE = Math.log10(11);
+    private static final double LOG10_2 = Math.log10(2);
+    private static final int MIN_YEAR_SPACE = 20;
+    private static final int REFERENCE_YEAR = java.time.Year.now().getValue();
+
+    private static final String[] KEYBOARD_ROWS = {"`1234567890-=", "qwertyuiop[]\\", "asdfghjkl;'", "zxcvbnm,./"};
+    private static final String[] SHIFTED_ROWS = {"~!@#$%^&*()_+", "QWERTYUIOP{}|", "ASDFGHJKL:\"", "ZXCVBNM<>?"};
+    // Neighbour offsets on the slanted layout: left, right, upper-left, upper-right, lower-left, lower-right
+    private static final int[][] KEYBOARD_DIRECTIONS = {{0, -1}, {0, 1}, {-1, 0}, {-1, 1}, {1, -1}, {1, 0}};
+
+    // Digit-only date splits by token length (index positions of the two cuts), as used by zxcvbn
+    private static final int[][][] DATE_SPLITS = {
+            {}, {}, {}, {},
+            {{1, 2}, {2, 3}},
+            {{1, 3}, {2, 3}},
+            {{1, 2}, {2, 4}, {4, 5}},
+            {{1, 3}, {2, 3}, {4, 5}, {4, 6}},
+            {{2, 4}, {4, 6}}
+    };
+
+    // A short ranked list of the most common passwords and words; lower index = guessed earlier.
+    private static final String[] DEFAULT_WORDS = {
+            "123456", "password", "123456789", "12345678", "12345", "qwerty", "1234567", "111111",
+            "1234567890", "123123", "abc123", "1234", "password1", "iloveyou", "1q2w3e4r", "000000",
+            "qwerty123", "zaq12wsx", "dragon", "sunshine", "princess", "letmein", "654321", "monkey",
+            "1qaz2wsx", "123321", "qwertyuiop", "superman", "asdfghjkl", "trustno1", "football",
+            "baseball", "welcome", "shadow", "master", "hello", "freedom", "whatever", "qazwsx",
+            "michael", "login", "starwars", "admin", "passw0rd", "charlie", "jordan", "hunter",
+            "killer", "ashley", "bailey", "access", "flower", "mustang", "batman", "soccer", "hockey",
+            "ranger", "daniel", "thomas", "robert", "jessica", "pepper", "summer", "buster", "harley",
+            "andrew", "tigger", "joshua", "matthew", "jennifer", "computer", "secret", "love", "lovely",
+            "angel", "cookie", "cheese", "ginger", "hannah", "maggie", "orange", "purple", "silver",
+            "yellow", "banana", "chocolate", "internet", "samsung", "google", "apple", "winter",
+            "spring", "autumn", "family", "friend", "friends", "forever", "happy", "heaven", "junior",
+            "liverpool", "chelsea", "arsenal", "london", "america", "canada", "pakistan", "india",
+            "nicole", "pass", "word", "user", "root", "test", "guest", "default", "changeme", "money",
+            "house", "phone", "school", "music", "dream", "magic", "power", "crystal", "diamond",
+            "golden", "rainbow", "butterfly", "tiger", "lion", "eagle", "wolf", "dog", "cat", "baby",
+            "girl", "boy", "king", "queen", "prince", "star", "moon", "sun", "fire", "water", "blue",
+            "red", "green", "black", "white", "pink", "world", "game", "gamer", "player", "ninja",
+            "pokemon", "naruto", "matrix", "zombie", "monster", "hacker", "secure", "security",
+            "company", "office", "summer", "qloak"
+    };
+
+    private static final char[][] LEET = new char[128][];
+    private static final byte[][] ADJACENT = new byte[128][128]; // direction + 1, or 0 if not adjacent
+    private static final boolean[] SHIFTED = new boolean[128];
+    private static final double KEYBOARD_STARTS;
+    private static final double KEYBOARD_AVERAGE_DEGREE;
+    private static final double[] LOG10_FACTORIAL = new double[2 * MAX_ANALYZED + 2];
+
+    static {
+        String[][] leet = {{"4", "a"}, {"@", "a"}, {"8", "b"}, {"(", "c"}, {"{", "c"}, {"3", "e"},
+                {"6", "g"}, {"9", "g"}, {"1", "il"}, {"!", "il"}, {"|", "li"}, {"0", "o"},
+                {"$", "s"}, {"5", "s"}, {"7", "t"}, {"+", "t"}, {"%", "x"}, {"2", "z"}};
+        for (String[] entry : leet) {
+            LEET[entry[0].charAt(0)] = entry[1].toCharArray();
+        }
+
+        int[][] position = new int[128][];
+        for (int r = 0; r < KEYBOARD_ROWS.length; r++) {
+            for (int col = 0; col < KEYBOARD_ROWS[r].length(); col++) {
+                position[KEYBOARD_ROWS[r].charAt(col)] = new int[]{r, col};
+                position[SHIFTED_ROWS[r].charAt(col)] = new int[]{r, col};
+                SHIFTED[SHIFTED_ROWS[r].charAt(col)] = true;
+            }
+        }
+        int keys = 0;
+        int edges = 0;
+        for (int a = 0; a < 128; a++) {
+            if (position[a] == null) {
+                continue;
+            }
+            if (!SHIFTED[a]) {
+                keys++;
+            }
+            for (int b = 0; b < 128; b++) {
+                if (position[b] == null) {
+                    continue;
+                }
+                for (int d = 0; d < KEYBOARD_DIRECTIONS.length; d++) {
+                    if (position[b][0] == position[a][0] + KEYBOARD_DIRECTIONS[d][0]
+                            && position[b][1] == position[a][1] + KEYBOARD_DIRECTIONS[d][1]) {
+                        ADJACENT[a][b] = (byte) (d + 1);
+                        if (!SHIFTED[a] && !SHIFTED[b]) {
+                            edges++;
+                        }
+                    }
+                }
+            }
+        }
+        KEYBOARD_STARTS = keys;
+        KEYBOARD_AVERAGE_DEGREE = (double) edges / keys;
+
+        for (int i = 1; i < LOG10_FACTORIAL.length; i++) {
+            LOG10_FACTORIAL[i] = LOG10_FACTORIAL[i - 1] + Math.log10(i);
+        }
+    }
+
+    private static final class DefaultHolder {
+        static final PatternScorer INSTANCE = new PatternScorer(DEFAULT_WORDS);
+    }
+
+    // Dictionary trie stored in flat arrays: children are a linked list via firstChild/nextSibling
+    private final char[] trieChar;
+    private final int[] trieFirstChild;
+    private final int[] trieNextSibling;
+    private final int[] trieRank;
+    private final double[] trieLog10Rank;
+    // Direct lookup for the root's ASCII children: every start position probes the root
+    private final int[] rootChild = new int[128];
+
+    public static PatternScorer defaults() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * @param rankedWords words ordered from most to least common; words shorter than 3 characters
+     *                    are ignored and duplicates keep their best rank
+     */
+    public PatternScorer(String[] rankedWords) {
+        int capacity = 1;
+        for (String word : rankedWords) {
+            capacity += word.length();
+        }
+        char[] chars = new char[capacity];
+        int[] firstChild = new int[capacity];
+        int[] nextSibling = new int[capacity];
+        int[] rank = new int[capacity];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+        int nodes = 1;
+
+        for (int r = 0; r < rankedWords.length; r++) {
+            String word = rankedWords[r].toLowerCase(Locale.ROOT);
+            if (word.length() < 3) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                int child = firstChild[node];
+                while (child >= 0 && chars[child] != c) {
+                    child = nextSibling[child];
+                }
+                if (child < 0) {
+                    child = nodes++;
+                    chars[child] = c;
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+                node = child;
+            }
+            if (rank[node] == 0) {
+                rank[node] = r + 1;
+            }
+        }
+        this.trieChar = Arrays.copyOf(chars, nodes);
+        this.trieFirstChild = Arrays.copyOf(firstChild, nodes);
+        this.trieNextSibling = Arrays.copyOf(nextSibling, nodes);
+        this.trieRank = Arrays.copyOf(rank, nodes);
+        this.trieLog10Rank = new double[nodes];
+        for (int i = 0; i < nodes; i++) {
+            trieLog10Rank[i] = trieRank[i] > 0 ? Math.log10(trieRank[i]) : 0;
+        }
+        Arrays.fill(rootChild, -1);
+        for (int child = trieFirstChild[0]; child >= 0; child = trieNextSibling[child]) {
+            if (trieChar[child] < 128) {
+                rootChild[trieChar[child]] = child;
+            }
+        }
+    }
+
+    /**
+     * Per-thread scratch space for scoring: match lists and the DP tables.
+     * Reusing one Workspace per thread makes scoring allocation-free.
+     */
+    static final class Workspace {
+        private static final int DP_WIDTH = 2 * MAX_ANALYZED + 2;
+
+        char[] text = new char[MAX_ANALYZED];
+        int length;
+        int matchCount;
+        int[] matchKind = new int[64];
+        int[] matchStart = new int[64];
+        int[] matchEnd = new int[64];
+        double[] matchLog10 = new double[64];
+        // Matches by end: matchesEndingAt[k] is the first match covering up to text[k - 1], nextMatch links the rest
+        int[] nextMatch = new int[64];
+        final int[] matchesEndingAt = new int[MAX_ANALYZED + 1];
+        final double[] dp = new double[(MAX_ANALYZED + 1) * DP_WIDTH];
+        final int[] backStart = new int[(MAX_ANALYZED + 1) * DP_WIDTH];
+        final int[] backMatch = new int[(MAX_ANALYZED + 1) * DP_WIDTH];
+        final boolean[] boundary = new boolean[MAX_ANALYZED + 1];
+        int bestCount;
+
+        void addMatch(int kind, int start, int end, double log10) {
+            if (matchCount == matchKind.length) {
+                int grown = matchCount * 2;
+                matchKind = Arrays.copyOf(matchKind, grown);
+                matchStart = Arrays.copyOf(matchStart, grown);
+                matchEnd = Arrays.copyOf(matchEnd, grown);
+                matchLog10 = Arrays.copyOf(matchLog10, grown);
+                nextMatch = Arrays.copyOf(nextMatch, grown);
+            }
+            // Sub-matches get a floor so tiny fragments can't make a long password look trivial
+            if (start > 0 || end < length - 1) {
+                log10 = Math.max(log10, end == start ? LOG10_MIN_SUBMATCH_SINGLE : LOG10_MIN_SUBMATCH_MULTI);
+            }
+            matchKind[matchCount] = kind;
+            matchStart[matchCount] = start;
+            matchEnd[matchCount] = end;
+            matchLog10[matchCount] = log10;
+            matchCount++;
+        }
+    }
+
+    public StrengthScore score(String password) {
+        if (password.isEmpty()) {
+            return new StrengthScore(0, 0, new ArrayList<>());
+        }
+        Workspace ws = new Workspace();
+        char[] chars = password.toCharArray();
+        double log10 = log10Guesses(chars, 0, chars.length, ws);
+
+        // Rebuild the winning decomposition from the DP back-pointers
+        LinkedList<PatternMatch> sequence = new LinkedList<>();
+        int end = ws.length;
+        int count = ws.bestCount;
+        while (end > 0) {
+            int cell = end * Workspace.DP_WIDTH + count;
+            int start = ws.backStart[cell];
+            int m = ws.backMatch[cell];
+            String token = new String(ws.text, start, end - start);
+            if (m >= 0) {
+                sequence.addFirst(new PatternMatch(KIND_NAMES[ws.matchKind[m]], token, Math.pow(10, ws.matchLog10[m])));
+            } else {
+                sequence.addFirst(new PatternMatch("bruteforce", token, Math.pow(10, bruteforceLog10(end - start))));
+            }
+            end = start;
+            count--;
+        }
+        if (chars.length > MAX_ANALYZED) {
+            sequence.addLast(new PatternMatch("bruteforce", password.substring(MAX_ANALYZED),
+                    Math.pow(10, chars.length - MAX_ANALYZED)));
+        }
+        Arrays.fill(chars, '\0');
+        return new StrengthScore(log10, charsetEntropyBits(password), new ArrayList<>(sequence));
+    }
+
+    /**
+     * Returns log10 of the estimated guess count for chars[offset, offset + length), using only
+     * the given workspace for scratch memory.
+     */
+    double log10Guesses(char[] chars, int offset, int length, Workspace ws) {
+        int n = Math.min(length, MAX_ANALYZED);
+        System.arraycopy(chars, offset, ws.text, 0, n);
+        ws.length = n;
+        ws.matchCount = 0;
+
+        matchDictionary(ws);
+        matchSpatial(ws);
+        matchRepeats(ws);
+        matchSequences(ws);
+        matchDates(ws);
+
+        return minimumGuesses(ws) + (length - n);
+    }
+
+    // ---- Dynamic programming over the password length ----
+
+    private double minimumGuesses(Workspace ws) {
+        int n = ws.length;
+        if (n == 0) {
+            // Nothing to guess
+            ws.bestCount = 0;
+            return 0;
+        }
+        int width = Workspace.DP_WIDTH;
+        int maxCount = Math.min(n, 2 * ws.matchCount + 1);
+
+        Arrays.fill(ws.boundary, 0, n + 1, false);
+        Arrays.fill(ws.matchesEndingAt, 0, n + 1, -1);
+        ws.boundary[0] = true;
+        ws.boundary[n] = true;
+        // Backwards, so each list is in match order
+        for (int m = ws.matchCount - 1; m >= 0; m--) {
+            int end = ws.matchEnd[m] + 1;
+            ws.boundary[ws.matchStart[m]] = true;
+            ws.boundary[end] = true;
+            ws.nextMatch[m] = ws.matchesEndingAt[end];
+            ws.matchesEndingAt[end] = m;
+        }
+        for (int k = 0; k <= n; k++) {
+            Arrays.fill(ws.dp, k * width, k * width + maxCount + 1, Double.POSITIVE_INFINITY);
+        }
+        ws.dp[0] = 0;
+
+        // dp[k][l]: fewest log10 guesses (product of match guesses) covering text[0, k) with l pieces,
+        // extended from the matches that end at k, each visited once, and from brute-force pieces,
+        // which only need to start and end at match boundaries or the ends of the text.
+        for (int k = 1; k <= n; k++) {
+            if (!ws.boundary[k]) {
+                continue;
+            }
+            for (int m = ws.matchesEndingAt[k]; m >= 0; m = ws.nextMatch[m]) {
+                extend(ws, ws.matchStart[m], k, maxCount, ws.matchLog10[m], m);
+            }
+            for (int s = 0; s < k; s++) {
+                if (ws.boundary[s]) {
+                    extend(ws, s, k, maxCount, bruteforceLog10(k - s), -1);
+                }
+            }
+        }
+
+        // Total guesses for l pieces: l! * product + 10^(4 * (l - 1)), evaluated in log10 space
+        double best = Double.POSITIVE_INFINITY;
+        for (int l = 1; l <= maxCount; l++) {
+            double product = ws.dp[n * width + l];
+            if (product == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            double total = log10Sum(LOG10_FACTORIAL[l] + product, LOG10_SEQUENCE_GROWTH * (l - 1));
+            if (total < best) {
+                best = total;
+                ws.bestCount = l;
+            }
+        }
+        return best;
+    }
+
+    // Appends one piece covering text[start, end) to every finished decomposition of text[0, start)
+    private static void extend(Workspace ws, int start, int end, int maxCount, double log10, int match) {
+        int width = Workspace.DP_WIDTH;
+        for (int l = 0; l < maxCount; l++) {
+            double base = ws.dp[start * width + l];
+            if (base != Double.POSITIVE_INFINITY) {
+                relax(ws, end, l + 1, base + log10, start, match);
+            }
+        }
+    }
+
+    private static void relax(Workspace ws, int end, int count, double value, int start, int match) {
+        int cell = end * Workspace.DP_WIDTH + count;
+        if (value < ws.dp[cell]) {
+            ws.dp[cell] = value;
+            ws.backStart[cell] = start;
+            ws.backMatch[cell] = match;
+        }
+    }
+
+    private static double log10Sum(double a, double b) {
+        double hi = Math.max(a, b);
+        double lo = Math.min(a, b);
+        return hi + Math.log10(1 + Math.pow(10, lo - hi));
+    }
+
+    private static double bruteforceLog10(int length) {
+        return length == 1 ? LOG10_SINGLE_BRUTEFORCE : length; // 10 guesses per character
+    }
+
+    // ---- Dictionary (with capitalization and leetspeak) ----
+
+    private void matchDictionary(Workspace ws) {
+        for (int i = 0; i < ws.length; i++) {
+            walkTrie(ws, 0, i, i, 0, 0, false);
+        }
+    }
+
+    // Depth-first walk of the trie from text[start]; leet characters may branch to several letters
+    private void walkTrie(Workspace ws, int node, int start, int pos, int substitutions, int uppers, boolean firstUpper) {
+        if (trieRank[node] > 0 && pos - start >= 3) {
+            boolean lastUpper = Character.isUpperCase(ws.text[pos - 1]);
+            double log10 = trieLog10Rank[node] + substitutions * LOG10_2;
+            if (uppers > 0) {
+                log10 += Math.log10(uppercaseVariations(pos - start, uppers, firstUpper, lastUpper));
+            }
+            ws.addMatch(DICTIONARY, start, pos - 1, log10);
+        }
+        if (pos == ws.length) {
+            return;
+        }
+        char c = ws.text[pos];
+        boolean upper = Character.isUpperCase(c);
+        int nextUppers = upper ? uppers + 1 : uppers;
+        boolean nextFirstUpper = pos == start ? upper : firstUpper;
+
+        int child = findChild(node, Character.toLowerCase(c));
+        if (child >= 0) {
+            walkTrie(ws, child, start, pos + 1, substitutions, nextUppers, nextFirstUpper);
+        }
+        char[] alternatives = c < 128 ? LEET[c] : null;
+        if (alternatives != null) {
+            for (char alt : alternatives) {
+                int leetChild = findChild(node, alt);
+                if (leetChild >= 0) {
+                    walkTrie(ws, leetChild, start, pos + 1, substitutions + 1, uppers, pos != start && firstUpper);
+                }
+            }
+        }
+    }
+
+    private int findChild(int node, char c) {
+        if (node == 0 && c < 128) {
+            return rootChild[c];
+        }
+        int child = trieFirstChild[node];
+        while (child >= 0 && trieChar[child] != c) {
+            child = trieNextSibling[child];
+        }
+        return child;
+    }
+
+    private static double uppercaseVariations(int length, int uppers, boolean firstUpper, boolean lastUpper) {
+        int lowers = length - uppers;
+        if (uppers == 0) {
+            return 1;
+        }
+        if (lowers == 0 || (uppers == 1 && (firstUpper || lastUpper))) {
+            return 2;
+        }
+        double variations = 0;
+        for (int i = 1; i <= Math.min(uppers, lowers); i++) {
+            variations += binomial(length, i);
+        }
+        return variations;
+    }
+
+    // ---- Keyboard walks ----
+
+    private static void matchSpatial(Workspace ws) {
+        char[] t = ws.text;
+        int i = 0;
+        while (i < ws.length - 2) {
+            int j = i + 1;
+            int turns = 0;
+            int lastDirection = 0;
+            int shifted = (t[i] < 128 && SHIFTED[t[i]]) ? 1 : 0;
+            while (j < ws.length && t[j] < 128 && t[j - 1] < 128 && ADJACENT[t[j - 1]][t[j]] != 0) {
+                int direction = ADJACENT[t[j - 1]][t[j]];
+                if (direction != lastDirection) {
+                    turns++;
+                    lastDirection = direction;
+                }
+                if (SHIFTED[t[j]]) {
+                    shifted++;
+                }
+                j++;
+            }
+            if (j - i >= 3) {
+                ws.addMatch(SPATIAL, i, j - 1, Math.log10(spatialGuesses(j - i, turns, shifted)));
+                i = j - 1;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static double spatialGuesses(int length, int turns, int shifted) {
+        double guesses = 0;
+        for (int i = 2; i <= length; i++) {
+            for (int j = 1; j <= Math.min(turns, i - 1); j++) {
+                guesses += binomial(i - 1, j - 1) * KEYBOARD_STARTS * Math.pow(KEYBOARD_AVERAGE_DEGREE, j);
+            }
+        }
+        int unshifted = length - shifted;
+        if (shifted > 0) {
+            if (unshifted == 0) {
+                guesses *= 2;
+            } else {
+                double variations = 0;
+                for (int i = 1; i <= Math.min(shifted, unshifted); i++) {
+                    variations += binomial(length, i);
+                }
+                guesses *= variations;
+            }
+        }
+        return guesses;
+    }
+
+    // ---- Repeats ("aaaa", "abcabc") ----
+
+    private static void matchRepeats(Workspace ws) {
+        char[] t = ws.text;
+        int n = ws.length;
+        for (int period = 1; period <= 8; period++) {
+            for (int i = 0; i + 2 * period <= n; i++) {
+                // Only start at the beginning of a run
+                if (i >= period && t[i - 1] == t[i - 1 + period]) {
+                    continue;
+                }
+                int k = i + period;
+                while (k < n && t[k] == t[k - period]) {
+                    k++;
+                }
+                int repeats = (k - i) / period;
+                if (repeats >= 2 && repeats * period >= 3) {
+                    ws.addMatch(REPEAT, i, i + repeats * period - 1,
+                            bruteforceLog10(period) + Math.log10(repeats));
+                }
+            }
+        }
+    }
+
+    // ---- Sequences ("abcd", "9753", "xyz") ----
+
+    private static void matchSequences(Workspace ws) {
+        char[] t = ws.text;
+        int i = 0;
+        while (i < ws.length - 2) {
+            int delta = t[i + 1] - t[i];
+            if (delta == 0 || Math.abs(delta) > 5) {
+                i++;
+                continue;
+            }
+            int j = i + 2;
+            while (j < ws.length && t[j] - t[j - 1] == delta) {
+                j++;
+            }
+            if (j - i >= 3) {
+                char first = t[i];
+                double base;
+                if ("aAzZ019".indexOf(first) >= 0) {
+                    base = 4;
+                } else if (Character.isDigit(first)) {
+                    base = 10;
+                } else {
+                    base = 26;
+                }
+                if (delta < 0) {
+                    base *= 2;
+                }
+                ws.addMatch(SEQUENCE, i, j - 1, Math.log10(base * (j - i) * Math.abs(delta)));
+                i = j - 1;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // ---- Dates and years ----
+
+    private static void matchDates(Workspace ws) {
+        char[] t = ws.text;
+        int n = ws.length;
+        for (int i = 0; i < n; i++) {
+            if (!isDigit(t[i])) {
+                continue;
+            }
+            // Digits only: years (1990) and compact dates (15031987, 3151987, ...)
+            int digits = 1;
+            while (i + digits < n && digits < 8 && isDigit(t[i + digits])) {
+                digits++;
+            }
+            for (int len = 4; len <= digits; len++) {
+                if (len == 4) {
+                    int year = parse(t, i, i + 4);
+                    if (year >= 1900 && year <= 2099) {
+                        ws.addMatch(DATE, i, i + 3, Math.log10(yearSpace(year)));
+                    }
+                }
+                for (int[] split : DATE_SPLITS[len]) {
+                    int year = dateYear(t, i, i + split[0], i + split[1], i + len);
+                    if (year > 0) {
+                        ws.addMatch(DATE, i, i + len - 1, Math.log10(365.0 * yearSpace(year)));
+                        break;
+                    }
+                }
+            }
+            // With separators: 15.03.1987, 3/15/87, 1987-03-15
+            int a = i;
+            while (a < n && a - i < 4 && isDigit(t[a])) {
+                a++;
+            }
+            if (a < n && a > i && "/\\_.- ".indexOf(t[a]) >= 0) {
+                char separator = t[a];
+                int b = a + 1;
+                while (b < n && b - a - 1 < 2 && isDigit(t[b])) {
+                    b++;
+                }
+                if (b < n && b > a + 1 && t[b] == separator) {
+                    int c = b + 1;
+                    while (c < n && c - b - 1 < 4 && isDigit(t[c])) {
+                        c++;
+                    }
+                    if (c > b + 1) {
+                        int year = dateYear(t, i, a, a + 1, b, b + 1, c);
+                        if (year > 0) {
+                            ws.addMatch(DATE, i, c - 1, Math.log10(365.0 * yearSpace(year) * 4));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static int dateYear(char[] t, int start, int cut1, int cut2, int end) {
+        return dateYear(t, start, cut1, cut1, cut2, cut2, end);
+    }
+
+    // Tries year-first and year-last orderings; returns the four-digit year or -1 if no valid date
+    private static int dateYear(char[] t, int s1, int e1, int s2, int e2, int s3, int e3) {
+        int p1 = parse(t, s1, e1);
+        int p2 = parse(t, s2, e2);
+        int p3 = parse(t, s3, e3);
+        if (e3 - s3 >= 2 && validDayMonth(p1, p2)) {
+            int year = normalizeYear(p3, e3 - s3);
+            if (year > 0) {
+                return year;
+            }
+        }
+        if (e1 - s1 >= 2 && validDayMonth(p2, p3)) {
+            return normalizeYear(p1, e1 - s1);
+        }
+        return -1;
+    }
+
+    private static boolean validDayMonth(int a, int b) {
+        return (a >= 1 && a <= 31 && b >= 1 && b <= 12) || (b >= 1 && b <= 31 && a >= 1 && a <= 12);
+    }
+
+    private static int normalizeYear(int year, int digits) {
+        if (digits == 2) {
+            return year > 50 ? 1900 + year : 2000 + year;
+        }
+        if (digits == 4 && year >= 1000 && year <= 2099) {
+            return year;
+        }
+        return -1;
+    }
+
+    private static int yearSpace(int year) {
+        return Math.max(Math.abs(year - REFERENCE_YEAR), MIN_YEAR_SPACE);
+    }
+
+    private static int parse(char[] t, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (t[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // ---- Helpers ----
+
+    private static double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+    private static double charsetEntropyBits(String password) {
+        PasswordProfile profile = PasswordProfile.of(password);
+        int pool = 0;
+        if (profile.has(PasswordProfile.LOWER)) pool += 26;
+        if (profile.has(PasswordProfile.UPPER)) pool += 26;
+        if (profile.has(PasswordProfile.DIGIT)) pool += 10;
+        if (profile.has(PasswordProfile.SYMBOL)) pool += 33;
+        if (profile.has(PasswordProfile.WHITESPACE)) pool += 1;
+        // Caseless scripts range from Arabic's 28 letters to thousands of CJK ideographs; stay conservative
+        if (profile.has(PasswordProfile.OTHER_LETTER)) pool += 100;
+        return pool == 0 ? 0 : profile.length() * Math.log(pool) / Math.log(2);
+    }
+}
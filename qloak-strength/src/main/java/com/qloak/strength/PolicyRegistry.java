@@ -0,0 +1,110 @@
+package com.qloak.strength;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tenant policies loaded from "<tenant>.properties" files in one directory.
+ * Each tenant's policy is compiled on first use and cached; a background task polls the files
+ * and swaps in a freshly compiled evaluator when one changes, so edits apply without a restart.
+ * A policy that fails to reload keeps its previous compiled version; the failure is logged
+ * once, and the file is tried again only after it changes.
+ */
+public class PolicyRegistry implements AutoCloseable {
+    private final Path directory;
+    private final ConcurrentHashMap<String, CachedPolicy> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    // Tenant -> modification time of the policy file that last failed to reload (-1: unreadable).
+    // Only used by the reload thread.
+    private final Map<String, Long> failedVersions = new HashMap<>();
+
+    public PolicyRegistry(Path directory, long reloadIntervalSeconds) {
+        this.directory = directory;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "policy-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::reloadChanged, reloadIntervalSeconds, reloadIntervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the evaluator for a tenant, compiling its policy on first use.
+     * After that, a lookup is a single hash map read.
+     */
+    public StrengthEvaluator forTenant(String tenant) throws IOException {
+        CachedPolicy cached = cache.get(tenant);
+        if (cached != null) {
+            return cached.evaluator;
+        }
+        if (!tenant.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid tenant name: " + tenant);
+        }
+        try {
+            return cache.computeIfAbsent(tenant, t -> {
+                try {
+                    return compile(fileFor(t));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).evaluator;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path fileFor(String tenant) {
+        return directory.resolve(tenant + ".properties");
+    }
+
+    private static CachedPolicy compile(Path file) throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        return new CachedPolicy(new StrengthEvaluator(PasswordPolicy.load(file).compile()), modified);
+    }
+
+    private void reloadChanged() {
+        for (Map.Entry<String, CachedPolicy> entry : cache.entrySet()) {
+            String tenant = entry.getKey();
+            Long failed = failedVersions.get(tenant);
+            long modified = -1;
+            try {
+                modified = Files.getLastModifiedTime(fileFor(tenant)).toMillis();
+                if (modified == entry.getValue().lastModified || (failed != null && failed == modified)) {
+                    continue;
+                }
+                cache.put(tenant, compile(fileFor(tenant)));
+                failedVersions.remove(tenant);
+            } catch (IOException | RuntimeException e) {
+                // Any exception escaping this task would cancel the schedule and stop all reloads
+                failedVersions.put(tenant, modified);
+                if (failed == null || failed != modified) {
+                    System.err.println("Policy '" + tenant + "' not reloaded: " + e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private static final class CachedPolicy {
+        final StrengthEvaluator evaluator;
+        final long lastModified;
+
+        CachedPolicy(StrengthEvaluator evaluator, long lastModified) {
+            this.evaluator = evaluator;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.qloak.strength;
+
+/**
+ * Per-criterion and per-rating counters for a batch audit. Each worker fills its own
+ * instance without synchronization; the instances are merged once the input is exhausted.
+ */
+public class StrengthAuditStats {
+    private final long[] ratingCounts = new long[StrengthEvaluator.RATINGS.size()];
+    private final long[] scoreCounts = new long[5];
+    private final long[] failureCounts;
+    private long evaluated;
+    private long skipped;
+
+    public StrengthAuditStats(int criteriaCount) {
+        this.failureCounts = new long[criteriaCount];
+    }
+
+    void recordFailure(int criterionIndex) {
+        failureCounts[criterionIndex]++;
+    }
+
+    void recordRating(int rank) {
+        ratingCounts[rank]++;
+        evaluated++;
+    }
+
+    void recordScore(int score) {
+        scoreCounts[score]++;
+    }
+
+    void recordSkipped() {
+        skipped++;
+    }
+
+    void merge(StrengthAuditStats other) {
+        for (int i = 0; i < ratingCounts.length; i++) {
+            ratingCounts[i] += other.ratingCounts[i];
+        }
+        for (int i = 0; i < failureCounts.length; i++) {
+            failureCounts[i] += other.failureCounts[i];
+        }
+        for (int i = 0; i < scoreCounts.length; i++) {
+            scoreCounts[i] += other.scoreCounts[i];
+        }
+        evaluated += other.evaluated;
+        skipped += other.skipped;
+    }
+
+    public long getRatingCount(int rank) {
+        return ratingCounts[rank];
+    }
+
+    public long getFailureCount(int criterionIndex) {
+        return failureCounts[criterionIndex];
+    }
+
+    // Pattern scores (0–4); only filled when the batch was run with a PatternScorer
+    public long getScoreCount(int score) {
+        return scoreCounts[score];
+    }
+
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+}
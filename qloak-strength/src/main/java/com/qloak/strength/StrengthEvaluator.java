@@ -0,0 +1,103 @@
+package com.qloak.strength;
+
+import java.util.List;
+
+import com.qloak.common.metrics.EvaluateEvent;
+import com.qloak.common.metrics.OperationMetrics;
+
+/**
+ * Responsible for running all Criteria on a given Password and returning both a rating and a report.
+ * Demonstrates composition: it holds a List<Criterion> that it owns and manages.
+ * Demonstrates dynamic dispatch: iterating over List<Criterion> and invoking test(...) calls the right subclass.
+ * Also shows upcasting: storing each concrete criterion (e.g., new LengthCriterion(8)) into a Criterion reference.
+ */
+public class StrengthEvaluator {
+    // Rating labels, indexed by rank(failures): 0 = Weak, 1 = Moderate, 2 = Strong.
+    public static final List<String> RATINGS = List.of("Weak", "Moderate", "Strong");
+
+    // Shared with BatchStrengthEvaluator, which adds its totals once per run
+    static final OperationMetrics METRICS = OperationMetrics.of("evaluate");
+
+    // Composition: StrengthEvaluator owns a compiled policy, which holds the Criterion objects
+    // and the rating thresholds. A CompiledPolicy is immutable, so evaluators are thread-safe.
+    private final CompiledPolicy policy;
+
+    // Default policy: minimum length 8 plus uppercase, lowercase, digit and symbol.
+    public StrengthEvaluator() {
+        this(CompiledPolicy.defaults());
+    }
+
+    // Default criteria followed by the given extra ones (e.g., a BreachedPasswordCriterion).
+    public StrengthEvaluator(List<Criterion> additionalCriteria) {
+        this(CompiledPolicy.defaults().with(additionalCriteria));
+    }
+
+    // Evaluates against a policy loaded from a file (see PasswordPolicy).
+    public StrengthEvaluator(CompiledPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * Evaluates the given Password and returns a Pair containing:
+     *  - First: a String rating ("Weak", "Moderate", or "Strong")
+     *  - Second: a SuggestionReport with any suggestions needed to improve the password.
+     *
+     * @param pw The validated Password object
+     * @return Pair<String, SuggestionReport>
+     */
+    public Pair<String, SuggestionReport> evaluate(Password pw) {
+        if (pw == null) {
+            // In an impossible scenario if null is passed, we throw IllegalArgumentException.
+            throw new IllegalArgumentException("Password object cannot be null");
+        }
+
+        long start = System.nanoTime();
+        EvaluateEvent event = new EvaluateEvent();
+        event.begin();
+
+        // One pass over the characters; every criterion below reads this profile.
+        PasswordProfile profile = PasswordProfile.of(pw.getRaw());
+        SuggestionReport report = new SuggestionReport();
+
+        // Loop through all criteria. Dynamic dispatch ensures the correct test method is called.
+        for (Criterion criterion : policy.criteria()) {
+            boolean passed = criterion.test(profile);
+            if (!passed) {
+                // If the password fails this criterion, get its suggestion.
+                report.addSuggestion(criterion.getSuggestion());
+            }
+        }
+
+        // Determine overall rating based on number of unmet criteria (i.e., suggestions).
+        String rating = RATINGS.get(rank(report.getSuggestions().size()));
+
+        METRICS.record(start, 0, true);
+        if (event.shouldCommit()) {
+            event.policy = policy.getName();
+            event.passwords = 1;
+            event.rating = rating;
+            event.failures = report.getSuggestions().size();
+            event.commit();
+        }
+
+        // We could return a Pair<String, SuggestionReport>, demonstrating usage of our generic Pair.
+        return new Pair<>(rating, report);
+    }
+
+    // Maps a number of failed criteria to an index into RATINGS, using the policy's thresholds.
+    int rank(int failures) {
+        return policy.rank(failures);
+    }
+
+    // Read-only view of the configured criteria, in evaluation order.
+    public List<Criterion> getCriteria() {
+        return policy.getCriteria();
+    }
+
+    public CompiledPolicy getPolicy() {
+        return policy;
+    }
+}
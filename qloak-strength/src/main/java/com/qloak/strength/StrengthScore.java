@@ -0,0 +1,66 @@
+package com.qloak.strength;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of PatternScorer: a 0–4 score, the estimated number of guesses, entropy figures,
+ * the Weak/Moderate/Strong label and the cheapest pattern decomposition that was found.
+ */
+public class StrengthScore {
+    // Score thresholds on log10(guesses): <3 -> 0, <6 -> 1, <8 -> 2, <10 -> 3, otherwise 4.
+    private static final double[] SCORE_THRESHOLDS = {3, 6, 8, 10};
+    private static final String[] SCORE_LABELS = {"Weak", "Weak", "Moderate", "Moderate", "Strong"};
+
+    private final double log10Guesses;
+    private final double charsetEntropyBits;
+    private final List<PatternMatch> sequence;
+
+    public StrengthScore(double log10Guesses, double charsetEntropyBits, List<PatternMatch> sequence) {
+        this.log10Guesses = log10Guesses;
+        this.charsetEntropyBits = charsetEntropyBits;
+        this.sequence = Collections.unmodifiableList(sequence);
+    }
+
+    static int scoreFor(double log10Guesses) {
+        int score = 0;
+        while (score < SCORE_THRESHOLDS.length && log10Guesses >= SCORE_THRESHOLDS[score]) {
+            score++;
+        }
+        return score;
+    }
+
+    public static String labelFor(int score) {
+        return SCORE_LABELS[score];
+    }
+
+    public int getScore() {
+        return scoreFor(log10Guesses);
+    }
+
+    public String getLabel() {
+        return labelFor(getScore());
+    }
+
+    public double getGuesses() {
+        return Math.pow(10, log10Guesses);
+    }
+
+    public double getLog10Guesses() {
+        return log10Guesses;
+    }
+
+    // Effective entropy: log2 of the estimated guess count
+    public double getEntropyBits() {
+        return log10Guesses * Math.log(10) / Math.log(2);
+    }
+
+    // Naive entropy: length * log2(size of the character pools used); ignores patterns entirely
+    public double getCharsetEntropyBits() {
+        return charsetEntropyBits;
+    }
+
+    public List<PatternMatch> getSequence() {
+        return sequence;
+    }
+}
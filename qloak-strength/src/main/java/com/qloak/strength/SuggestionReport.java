@@ -0,0 +1,36 @@
+package com.qloak.strength;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregates suggestion messages. Demonstrates aggregation: it holds a List<String> of suggestions
+ * that were generated elsewhere (by Criterion objects) but does not "own" how they were created.
+ * In a UML sense, SuggestionReport aggregates suggestions without deep composition.
+ */
+public class SuggestionReport {
+    // We use a generic collection here: List<String> to hold suggestion messages.
+    private List<String> suggestions;
+
+    public SuggestionReport() {
+        // Initialize with an empty ArrayList
+        this.suggestions = new ArrayList<>();
+    }
+
+    // Adds a single suggestion to the list.
+    public void addSuggestion(String suggestion) {
+        // We could trim and check for duplicates if desired. For now, simply add.
+        suggestions.add(suggestion);
+    }
+
+    // Returns an unmodifiable view of suggestions to maintain encapsulation.
+    public List<String> getSuggestions() {
+        return Collections.unmodifiableList(suggestions);
+    }
+
+    // Convenience method to check if there are any suggestions.
+    public boolean hasSuggestions() {
+        return !suggestions.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.qloak.strength;
+
+/**
+ * Checks that a password contains at least one special symbol (punctuation or symbol; whitespace does not count).
+ */
+public class SymbolCriterion extends Criterion {
+
+    public SymbolCriterion() {
+        super("Add at least one special symbol (e.g., !, @, #, $, %, ^, &, *)");
+    }
+
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            return false;
+        }
+        return test(PasswordProfile.of(password));
+    }
+
+    @Override
+    public boolean test(PasswordProfile profile) {
+        return profile.has(PasswordProfile.SYMBOL);
+    }
+
+    @Override
+    public int requiredClasses() {
+        return PasswordProfile.SYMBOL;
+    }
+}
@@ -0,0 +1,32 @@
+package com.qloak.strength;
+
+/**
+ * Checks that a password contains at least one uppercase letter.
+ * Inherits from Criterion and overrides test(...). Demonstrates encapsulation
+ * by keeping no fields public and using the base class constructor for suggestion.
+ */
+public class UppercaseCriterion extends Criterion {
+
+    // No extra fields needed (no-arg constructor).
+    public UppercaseCriterion() {
+        super("Add at least one uppercase letter (A-Z)");
+    }
+
+    @Override
+    public boolean test(String password) {
+        if (password == null) {
+            return false;
+        }
+        return test(PasswordProfile.of(password));
+    }
+
+    @Override
+    public boolean test(PasswordProfile profile) {
+        return profile.has(PasswordProfile.UPPER);
+    }
+
+    @Override
+    public int requiredClasses() {
+        return PasswordProfile.UPPER;
+    }
+}
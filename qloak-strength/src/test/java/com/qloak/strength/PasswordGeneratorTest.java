@@ -0,0 +1,40 @@
+package com.qloak.strength;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks generateBulk() output line by line, including passwords too long for a worker's
+ * 64 Ki-char output chunk.
+ */
+class PasswordGeneratorTest {
+    private final PasswordGenerator generator = new PasswordGenerator(new StrengthEvaluator());
+
+    @Test
+    void writesPasswordsLongerThanAChunk() throws Exception {
+        for (int length : new int[] {64 * 1024 - 1, 64 * 1024, 70_000}) {
+            StringWriter out = new StringWriter();
+            generator.generateBulk(5, PasswordGenerator.Mode.random(length), 2, out);
+            String[] lines = out.toString().split("\n", -1);
+            assertEquals(6, lines.length, length + " chars");
+            for (int i = 0; i < 5; i++) {
+                assertEquals(length, lines[i].length(), length + " chars");
+            }
+            assertEquals("", lines[5]);
+        }
+    }
+
+    @Test
+    void writesOneLinePerPassword() throws Exception {
+        StringWriter out = new StringWriter();
+        generator.generateBulk(10_001, PasswordGenerator.Mode.random(16), 4, out);
+        String[] lines = out.toString().split("\n");
+        assertEquals(10_001, lines.length);
+        for (String line : lines) {
+            assertEquals(16, line.length());
+        }
+    }
+}
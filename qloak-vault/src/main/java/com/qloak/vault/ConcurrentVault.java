@@ -0,0 +1,94 @@
+package com.qloak.vault;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.qloak.common.metrics.LatencyHistogram;
+import com.qloak.common.metrics.MetricsRegistry;
+
+/**
+ * Thread-safe view of a vault file.
+ * Readers never block: they work on an immutable VaultIndex snapshot published through a volatile field.
+ * Writers are serialized, append to the vault file and then publish a new snapshot (copy-on-write).
+ * Decrypted passwords are kept in a bounded, TTL-limited cache that wipes entries when they leave it.
+ */
+public class ConcurrentVault {
+    private final String vaultFile;
+    private final String method;
+    private final String masterPassword;
+    private final DecryptedEntryCache cache;
+    // Shared with the metrics export, so STATS and the exported file report the same numbers
+    private final LatencyHistogram lookupLatency =
+            MetricsRegistry.global().histogram("qloak_vault_lookup_duration_seconds");
+    private final Object writeLock = new Object();
+    private volatile VaultIndex snapshot;
+
+    public ConcurrentVault(String vaultFile, String method, String masterPassword,
+                           int cacheCapacity, long cacheTtlNanos) throws IOException {
+        this.vaultFile = vaultFile;
+        this.method = method;
+        this.masterPassword = masterPassword;
+        this.cache = new DecryptedEntryCache(cacheCapacity, cacheTtlNanos);
+        this.snapshot = Files.exists(Path.of(vaultFile))
+                ? new VaultIndex(PasswordVault.readFromFile(vaultFile))
+                : new VaultIndex();
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Looks up the matching credentials. Usernames are returned in index order and the
+     * decrypted passwords are appended to {@code passwords} in the same order; the caller
+     * owns those arrays and must zero them.
+     */
+    public List<String> lookup(CredentialQuery query, List<char[]> passwords) throws Exception {
+        long start = System.nanoTime();
+        try {
+            List<String[]> matches = snapshot.find(query);
+            List<String> usernames = new ArrayList<>(matches.size());
+            for (String[] pair : matches) {
+                char[] password = cache.get(pair[1]);
+                if (password == null) {
+                    password = EncryptionUtil.decryptToChars(pair[1], method, masterPassword);
+                    cache.put(pair[1], password);
+                }
+                usernames.add(pair[0]);
+                passwords.add(password);
+            }
+            return usernames;
+        } finally {
+            lookupLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    public void store(String username, String password) throws Exception {
+        String encrypted = EncryptionUtil.encrypt(password, method, masterPassword);
+        synchronized (writeLock) {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(vaultFile, true))) {
+                writer.println(username + ":" + encrypted);
+            }
+            VaultIndex next = snapshot.copy();
+            next.add(username, encrypted);
+            snapshot = next;
+        }
+    }
+
+    public String stats() {
+        return String.format("lookups=%d p50_us=%.1f p99_us=%.1f cache_hits=%d cache_misses=%d",
+                lookupLatency.count(),
+                lookupLatency.percentile(50) / 1e3,
+                lookupLatency.percentile(99) / 1e3,
+                cache.hits(), cache.misses());
+    }
+
+    public void close() {
+        cache.close();
+    }
+}
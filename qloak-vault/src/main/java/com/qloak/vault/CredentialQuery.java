@@ -0,0 +1,95 @@
+package com.qloak.vault;
+
+import java.util.regex.Pattern;
+
+// A username lookup: exact match, prefix ("alice*") or glob ("*@corp.?om")
+public class CredentialQuery {
+    enum Mode { EXACT, PREFIX, GLOB }
+    
+    private final Mode mode;
+    private final String pattern;
+    private final String literalPrefix;
+    private final Pattern regex;
+    
+    private CredentialQuery(Mode mode, String pattern) {
+        this.mode = mode;
+        this.pattern = pattern;
+        if(mode == Mode.GLOB) {
+            this.literalPrefix = pattern.substring(0, firstWildcard(pattern));
+            this.regex = Pattern.compile(globToRegex(pattern));
+        } else {
+            this.literalPrefix = pattern;
+            this.regex = null;
+        }
+    }
+    
+    public static CredentialQuery exact(String username) {
+        return new CredentialQuery(Mode.EXACT, username);
+    }
+    
+    public static CredentialQuery prefix(String prefix) {
+        return new CredentialQuery(Mode.PREFIX, prefix);
+    }
+    
+    public static CredentialQuery glob(String glob) {
+        return new CredentialQuery(Mode.GLOB, glob);
+    }
+    
+    // Picks the cheapest mode able to answer the typed query
+    public static CredentialQuery parse(String input) {
+        int wildcard = firstWildcard(input);
+        if(wildcard == input.length()) {
+            return exact(input);
+        }
+        if(wildcard == input.length() - 1 && input.charAt(wildcard) == '*') {
+            return prefix(input.substring(0, wildcard));
+        }
+        return glob(input);
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    public String getPattern() {
+        return pattern;
+    }
+    
+    public String getLiteralPrefix() {
+        return literalPrefix;
+    }
+    
+    public boolean matches(String username) {
+        switch(mode) {
+            case EXACT:
+                return username.equals(pattern);
+            case PREFIX:
+                return username.startsWith(pattern);
+            default:
+                return regex.matcher(username).matches();
+        }
+    }
+    
+    private static int firstWildcard(String s) {
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if(c == '*' || c == '?') return i;
+        }
+        return s.length();
+    }
+    
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for(int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if(c == '*' || c == '?') {
+                if(i > literalStart) regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if(literalStart < glob.length()) regex.append(Pattern.quote(glob.substring(literalStart)));
+        return regex.toString();
+    }
+}
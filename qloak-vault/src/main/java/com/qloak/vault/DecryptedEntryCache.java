@@ -0,0 +1,161 @@
+package com.qloak.vault;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of decrypted passwords keyed by their ciphertext, with a time-to-live.
+ * The cache is split into independently locked stripes so concurrent readers rarely contend.
+ * Values handed out are copies; values dropped by eviction, expiry or clear() are zeroed.
+ * Expired entries are swept (and zeroed) in the background every min(TTL, 1 s), so
+ * plaintext does not outlive its TTL by more than that even if it is never asked for
+ * again; close() stops the sweep and clears the cache. The capacity is spread across the
+ * stripes exactly, so the configured limit is the limit held; a capacity of 0 caches nothing.
+ */
+class DecryptedEntryCache implements AutoCloseable {
+    private static final int STRIPES = 16;
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "qloak-cache-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ScheduledFuture<?> sweep;
+
+    public DecryptedEntryCache(int capacity, long ttlNanos) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative");
+        }
+        this.ttlNanos = ttlNanos;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(capacity / STRIPES + (i < capacity % STRIPES ? 1 : 0));
+        }
+        long period = Math.max(TimeUnit.MILLISECONDS.toNanos(10), Math.min(ttlNanos, TimeUnit.SECONDS.toNanos(1)));
+        sweep = SWEEPER.scheduleWithFixedDelay(this::sweepExpired, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    // Returns a copy of the cached plaintext, or null if absent or expired
+    public char[] get(String ciphertext) {
+        Stripe stripe = stripeFor(ciphertext);
+        synchronized (stripe) {
+            Entry entry = stripe.get(ciphertext);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - entry.createdAt > ttlNanos) {
+                stripe.remove(ciphertext);
+                entry.wipe();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value.clone();
+        }
+    }
+
+    // Caches a copy of the plaintext; the caller keeps ownership of the array it passed in
+    public void put(String ciphertext, char[] plaintext) {
+        Stripe stripe = stripeFor(ciphertext);
+        if (stripe.capacity == 0) {
+            return;
+        }
+        Entry entry = new Entry(plaintext.clone(), System.nanoTime());
+        synchronized (stripe) {
+            Entry previous = stripe.put(ciphertext, entry);
+            if (previous != null) {
+                previous.wipe();
+            }
+        }
+    }
+
+    // Removes and zeroes every expired entry
+    void sweepExpired() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.values().removeIf(entry -> {
+                    if (now - entry.createdAt > ttlNanos) {
+                        entry.wipe();
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sweep.cancel(false);
+        clear();
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                for (Entry entry : stripe.values()) {
+                    entry.wipe();
+                }
+                stripe.clear();
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Entry {
+        final char[] value;
+        final long createdAt;
+
+        Entry(char[] value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+
+        void wipe() {
+            Arrays.fill(value, '\0');
+        }
+    }
+
+    // Access-ordered map that wipes the eldest entry when it grows past capacity
+    private static final class Stripe extends LinkedHashMap<String, Entry> {
+        private static final long serialVersionUID = 1L;
+        private final int capacity;
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > capacity) {
+                eldest.getValue().wipe();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.qloak.vault;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.qloak.common.metrics.EncryptEvent;
+import com.qloak.common.metrics.OperationMetrics;
+
+public class EncryptionUtil {
+    // Encrypt and decrypt counts, latency and ciphertext bytes; the plaintext is never recorded
+    private static final OperationMetrics ENCRYPT_METRICS = OperationMetrics.of("encrypt");
+    private static final OperationMetrics DECRYPT_METRICS = OperationMetrics.of("decrypt");
+    
+    public static String encrypt(String plainText, String algorithm, String password) throws Exception {
+        long start = System.nanoTime();
+        EncryptEvent event = new EncryptEvent();
+        event.begin();
+        int bytes = 0;
+        boolean succeeded = false;
+        try {
+            SecretKeySpec key = generateKey(algorithm, password);
+            Cipher cipher = Cipher.getInstance(algorithm + "/ECB/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+            byte[] encryptedBytes = cipher.doFinal(plainText.getBytes());
+            bytes = encryptedBytes.length;
+            succeeded = true;
+            return Base64.getEncoder().encodeToString(encryptedBytes);
+        } finally {
+            record(event, start, algorithm, false, bytes, succeeded);
+        }
+    }
+    
+    // Same as encrypt, but takes the plaintext as a char[]; the encoded bytes are wiped after use.
+    public static String encrypt(char[] plainText, String algorithm, String password) throws Exception {
+        long start = System.nanoTime();
+        EncryptEvent event = new EncryptEvent();
+        event.begin();
+        int length = 0;
+        boolean succeeded = false;
+        try {
+            SecretKeySpec key = generateKey(algorithm, password);
+            Cipher cipher = Cipher.getInstance(algorithm + "/ECB/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+            ByteBuffer bytes = Charset.defaultCharset().encode(CharBuffer.wrap(plainText));
+            try {
+                byte[] encryptedBytes = cipher.doFinal(bytes.array(), bytes.arrayOffset(), bytes.limit());
+                length = encryptedBytes.length;
+                succeeded = true;
+                return Base64.getEncoder().encodeToString(encryptedBytes);
+            } finally {
+                Arrays.fill(bytes.array(), (byte) 0);
+            }
+        } finally {
+            record(event, start, algorithm, false, length, succeeded);
+        }
+    }
+    
+    public static String decrypt(String encryptedText, String algorithm, String password) throws Exception {
+        long start = System.nanoTime();
+        EncryptEvent event = new EncryptEvent();
+        event.begin();
+        int bytes = 0;
+        boolean succeeded = false;
+        try {
+            SecretKeySpec key = generateKey(algorithm, password);
+            Cipher cipher = Cipher.getInstance(algorithm + "/ECB/PKCS5Padding");
+            cipher.init(Cipher.DECRYPT_MODE, key);
+            byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
+            bytes = decodedBytes.length;
+            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
+            succeeded = true;
+            return new String(decryptedBytes);
+        } finally {
+            record(event, start, algorithm, true, bytes, succeeded);
+        }
+    }
+    
+    // Same as decrypt, but returns the plaintext in a char[] the caller can zero after use.
+    // The intermediate byte buffers are wiped before returning.
+    public static char[] decryptToChars(String encryptedText, String algorithm, String password) throws Exception {
+        long start = System.nanoTime();
+        EncryptEvent event = new EncryptEvent();
+        event.begin();
+        int bytes = 0;
+        boolean succeeded = false;
+        try {
+            SecretKeySpec key = generateKey(algorithm, password);
+            Cipher cipher = Cipher.getInstance(algorithm + "/ECB/PKCS5Padding");
+            cipher.init(Cipher.DECRYPT_MODE, key);
+            byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
+            bytes = decodedBytes.length;
+            byte[] decryptedBytes = cipher.doFinal(decodedBytes);
+            try {
+                CharBuffer chars = Charset.defaultCharset().decode(ByteBuffer.wrap(decryptedBytes));
+                char[] result = new char[chars.remaining()];
+                chars.get(result);
+                Arrays.fill(chars.array(), '\0');
+                succeeded = true;
+                return result;
+            } finally {
+                Arrays.fill(decryptedBytes, (byte) 0);
+            }
+        } finally {
+            record(event, start, algorithm, true, bytes, succeeded);
+        }
+    }
+    
+    private static void record(EncryptEvent event, long start, String algorithm, boolean decrypt, int bytes,
+                               boolean succeeded) {
+        (decrypt ? DECRYPT_METRICS : ENCRYPT_METRICS).record(start, bytes, succeeded);
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.decrypt = decrypt;
+            event.bytes = bytes;
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+    
+    private static SecretKeySpec generateKey(String algorithm, String password) throws Exception {
+        // Create SHA-1 hash of password
+        MessageDigest sha = MessageDigest.getInstance("SHA-1");
+        byte[] keyBytes = sha.digest(password.getBytes());
+        
+        // Truncate to appropriate length
+        int keyLength = algorithm.equals("AES") ? 16 : 8; // 16 bytes for AES-128, 8 bytes for DES
+        keyBytes = Arrays.copyOf(keyBytes, keyLength);
+        
+        return new SecretKeySpec(keyBytes, algorithm);
+    }
+}
@@ -0,0 +1,127 @@
+package com.qloak.vault;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.qloak.strength.PasswordGenerator;
+
+/**
+ * A vault file of "username:encryptedPassword" lines, encrypted under the master password.
+ * Front ends (the Password Manager console, the vault server) check what the user typed with
+ * isMasterPassword(...); the master password itself never leaves this class.
+ */
+public class PasswordVault {
+    // Hard-coded master password (set by programmer)
+    private static final String MASTER_PASSWORD = "secret123";
+
+    // Lets front ends check the master password without exposing it
+    public static boolean isMasterPassword(String candidate) {
+        return MASTER_PASSWORD.equals(candidate);
+    }
+
+    // Encrypts every {username, password} pair and writes the vault file, replacing its contents
+    public void save(String[][] credentials, String method, String filePath) throws Exception {
+        String[][] encrypted = new String[credentials.length][2];
+        for(int i = 0; i < credentials.length; i++) {
+            encrypted[i][0] = credentials[i][0];
+            encrypted[i][1] = EncryptionUtil.encrypt(credentials[i][1], method, MASTER_PASSWORD);
+        }
+        writeToFile(encrypted, filePath);
+    }
+
+    // Decrypts one stored password into a char[] the caller must zero after use
+    public char[] decrypt(String encryptedPassword, String method) throws Exception {
+        return EncryptionUtil.decryptToChars(encryptedPassword, method, MASTER_PASSWORD);
+    }
+
+    /**
+     * Generates a password for every username in usernamesFile (one per line) and appends the
+     * encrypted credentials to the vault file. Generation and encryption run on several threads;
+     * plaintext only ever lives in char[]/byte[] buffers that are wiped after encryption.
+     */
+    public int provision(String usernamesFile, String vaultFile, String method, PasswordGenerator generator,
+                         PasswordGenerator.Mode mode, int threads) throws Exception {
+        List<String> usernames = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(usernamesFile))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                line = line.trim();
+                if(!line.isEmpty() && !line.contains(":")) usernames.add(line);
+            }
+        }
+
+        String[] encrypted = new String[usernames.size()];
+        Exception[] failure = new Exception[1];
+        Thread[] workers = new Thread[Math.max(1, threads)];
+        for(int t = 0; t < workers.length; t++) {
+            int first = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    for(int i = first; i < encrypted.length; i += workers.length) {
+                        char[] password = generator.generate(mode);
+                        try {
+                            encrypted[i] = EncryptionUtil.encrypt(password, method, MASTER_PASSWORD);
+                        } finally {
+                            Arrays.fill(password, '\0');
+                        }
+                    }
+                } catch (Exception e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for(Thread worker : workers) {
+            worker.join();
+        }
+        if(failure[0] != null) throw failure[0];
+
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(vaultFile, true)))) {
+            for(int i = 0; i < encrypted.length; i++) {
+                writer.println(usernames.get(i) + ":" + encrypted[i]);
+            }
+        }
+        return encrypted.length;
+    }
+
+    private void writeToFile(String[][] data, String filePath) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
+            for(String[] pair : data) {
+                writer.println(pair[0] + ":" + pair[1]);
+            }
+        }
+    }
+
+    public static String[][] readFromFile(String filePath) throws IOException {
+        // First count the number of lines
+        int lineCount = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            while(reader.readLine() != null) lineCount++;
+        }
+
+        // Now read the actual content
+        String[][] credentials = new String[lineCount][2];
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            int index = 0;
+            while((line = reader.readLine()) != null) {
+                String[] parts = line.split(":");
+                if(parts.length == 2) {
+                    credentials[index][0] = parts[0];
+                    credentials[index][1] = parts[1];
+                    index++;
+                }
+            }
+        }
+        return credentials;
+    }
+}
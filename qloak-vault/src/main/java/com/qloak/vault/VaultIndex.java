@@ -0,0 +1,67 @@
+package com.qloak.vault;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Sorted index of the plaintext usernames in a vault file. Lookups only touch the
+// matching records, so nothing has to be decrypted to find an entry.
+public class VaultIndex {
+    private final TreeMap<String, List<String>> byUsername = new TreeMap<>();
+    private int size;
+    
+    public VaultIndex() {}
+    
+    public VaultIndex(String[][] credentials) {
+        for(String[] pair : credentials) {
+            // readFromFile leaves trailing rows empty for lines it could not parse
+            if(pair == null || pair[0] == null || pair[1] == null) continue;
+            add(pair[0], pair[1]);
+        }
+    }
+    
+    public void add(String username, String encryptedPassword) {
+        byUsername.computeIfAbsent(username, k -> new ArrayList<>(1)).add(encryptedPassword);
+        size++;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    // Deep copy, used by writers that publish a new snapshot instead of mutating a shared one
+    public VaultIndex copy() {
+        VaultIndex copy = new VaultIndex();
+        for(Map.Entry<String, List<String>> entry : byUsername.entrySet()) {
+            copy.byUsername.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        copy.size = size;
+        return copy;
+    }
+    
+    // Returns {username, encryptedPassword} pairs in username order
+    public List<String[]> find(CredentialQuery query) {
+        List<String[]> result = new ArrayList<>();
+        if(query.getMode() == CredentialQuery.Mode.EXACT) {
+            List<String> entries = byUsername.get(query.getPattern());
+            if(entries != null) collect(query.getPattern(), entries, result);
+            return result;
+        }
+        
+        // Prefix and glob queries only scan the range sharing their literal prefix
+        String prefix = query.getLiteralPrefix();
+        for(Map.Entry<String, List<String>> entry : byUsername.tailMap(prefix, true).entrySet()) {
+            String username = entry.getKey();
+            if(!username.startsWith(prefix)) break;
+            if(query.matches(username)) collect(username, entry.getValue(), result);
+        }
+        return result;
+    }
+    
+    private static void collect(String username, List<String> entries, List<String[]> result) {
+        for(String encrypted : entries) {
+            result.add(new String[]{username, encrypted});
+        }
+    }
+}
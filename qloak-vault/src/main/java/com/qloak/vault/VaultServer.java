@@ -0,0 +1,184 @@
+package com.qloak.vault;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.qloak.common.net.LocalSockets;
+
+/**
+ * Serves a ConcurrentVault to many concurrent local clients over a Unix-domain socket.
+ * The protocol is line based (UTF-8):
+ *
+ *   GET <query>            -> "OK <n>" followed by n lines "username<TAB>password"
+ *   PUT <username> <pass>  -> "OK"
+ *   STATS                  -> "OK lookups=.. p50_us=.. p99_us=.. cache_hits=.. cache_misses=.."
+ *   QUIT                   -> closes the connection
+ *
+ * Queries use the same syntax as the Password Manager: exact, prefix* or glob.
+ *
+ * One selector thread (the one calling serve()) does all socket I/O and hands each
+ * complete request line to the worker pool, so workers are busy only while a request is
+ * being answered: idle connections hold no thread, and any number of clients can stay
+ * connected without queueing behind each other. Requests from one connection are still
+ * answered in order (see VaultSession). The socket is private to the user running the
+ * server (see LocalSockets), and connections from any other user are closed unanswered.
+ */
+public class VaultServer implements AutoCloseable {
+    private final Path socketPath;
+    private final ConcurrentVault vault;
+    private final ExecutorService workers;
+    // Sessions whose worker has finished; the selector thread sends their responses
+    private final ConcurrentLinkedQueue<VaultSession> finished = new ConcurrentLinkedQueue<>();
+    private volatile ServerSocketChannel server;
+    private volatile Selector selector;
+
+    public VaultServer(Path socketPath, ConcurrentVault vault, ExecutorService workers) {
+        this.socketPath = socketPath;
+        this.vault = vault;
+        this.workers = workers;
+    }
+
+    /**
+     * Binds the socket (replacing a stale socket file, but nothing else) and serves clients
+     * until close() is called.
+     */
+    public void serve() throws IOException {
+        ServerSocketChannel bound = LocalSockets.bindPrivate(socketPath);
+        server = bound;
+        UserPrincipal owner = LocalSockets.ownerOf(socketPath);
+        Selector opened = Selector.open();
+        selector = opened;
+        ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+        try {
+            bound.configureBlocking(false);
+            bound.register(opened, SelectionKey.OP_ACCEPT);
+            while (bound.isOpen()) {
+                opened.select();
+                VaultSession done;
+                while ((done = finished.poll()) != null) {
+                    if (done.takeFinished()) {
+                        service(done, done.channel.keyFor(opened));
+                    }
+                }
+                for (SelectionKey key : opened.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept(bound, owner, opened);
+                        continue;
+                    }
+                    VaultSession session = (VaultSession) key.attachment();
+                    if (key.isReadable()) {
+                        try {
+                            readBuffer.clear();
+                            int read = session.channel.read(readBuffer);
+                            readBuffer.flip();
+                            if (read < 0 || !session.received(readBuffer)) {
+                                session.close();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            // Client went away
+                            session.close();
+                            continue;
+                        } finally {
+                            // The bytes may include a password from a PUT
+                            Arrays.fill(readBuffer.array(), (byte) 0);
+                        }
+                    }
+                    service(session, key);
+                }
+                opened.selectedKeys().clear();
+            }
+        } finally {
+            for (SelectionKey key : opened.keys()) {
+                if (key.attachment() instanceof VaultSession) {
+                    ((VaultSession) key.attachment()).close();
+                }
+            }
+            opened.close();
+        }
+    }
+
+    private void accept(ServerSocketChannel bound, UserPrincipal owner, Selector opened) throws IOException {
+        SocketChannel client;
+        while ((client = bound.accept()) != null) {
+            if (!LocalSockets.isOwner(client, owner)) {
+                client.close();
+                continue;
+            }
+            client.configureBlocking(false);
+            client.register(opened, SelectionKey.OP_READ, new VaultSession(client, vault));
+        }
+    }
+
+    /**
+     * Moves a session forward on the selector thread: writes what it can of the pending
+     * response, then hands the next queued request to a worker, and updates the key's
+     * interest to match.
+     */
+    private void service(VaultSession session, SelectionKey key) {
+        if (key == null || !key.isValid()) {
+            // Closed while its worker was running; close() wipes the response
+            session.close();
+            return;
+        }
+        try {
+            if (session.flush()) {
+                if (session.isQuitting()) {
+                    session.close();
+                    return;
+                }
+                String request = session.nextRequest();
+                if (request != null) {
+                    workers.execute(() -> {
+                        session.finished(session.respond(request));
+                        finished.add(session);
+                        selector.wakeup();
+                    });
+                } else if (session.isQuitting()) {
+                    session.close();
+                    return;
+                }
+            }
+            key.interestOps(SelectionKey.OP_READ | (session.hasOutput() ? SelectionKey.OP_WRITE : 0));
+        } catch (IOException | RejectedExecutionException e) {
+            // Client went away, or the server is shutting down
+            session.close();
+        }
+    }
+
+    public Path getSocketPath() {
+        return socketPath;
+    }
+
+    // Stops serving, wipes the decrypted-entry cache and removes the socket file
+    @Override
+    public void close() {
+        try {
+            // Only remove the socket if this server bound it (not another server's, after a failed start)
+            if (server != null) {
+                server.close();
+                LocalSockets.deleteSocket(socketPath);
+            }
+        } catch (IOException ignored) {
+        }
+        Selector current = selector;
+        if (current != null) {
+            current.wakeup();
+        }
+        workers.shutdownNow();
+        vault.close();
+    }
+}
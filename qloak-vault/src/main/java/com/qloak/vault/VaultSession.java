@@ -0,0 +1,225 @@
+package com.qloak.vault;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One connected client: the bytes of its unfinished request line, its queued requests and
+ * the response being written. Owned by VaultServer's selector thread; only respond() runs
+ * on a worker. Requests from one client are answered one at a time, in order.
+ */
+class VaultSession {
+    // A request line longer than this closes the connection
+    private static final int MAX_LINE = 64 * 1024;
+
+    final SocketChannel channel;
+    private final ConcurrentVault vault;
+    private final ArrayDeque<String> requests = new ArrayDeque<>();
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private ByteBuffer output;
+    // Set by the worker, taken by the selector thread
+    private volatile ByteBuffer finished;
+    private boolean busy;
+    private boolean quitting;
+
+    VaultSession(SocketChannel channel, ConcurrentVault vault) {
+        this.channel = channel;
+        this.vault = vault;
+    }
+
+    /**
+     * Splits freshly read bytes into request lines. Returns false if the client must be
+     * disconnected (line too long).
+     */
+    boolean received(ByteBuffer bytes) {
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get();
+            if (b == '\n') {
+                int end = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                requests.add(new String(line, 0, end, StandardCharsets.UTF_8));
+                // The line may hold a password from a PUT
+                Arrays.fill(line, 0, lineLength, (byte) 0);
+                lineLength = 0;
+            } else {
+                if (lineLength == MAX_LINE) {
+                    return false;
+                }
+                if (lineLength == line.length) {
+                    byte[] grown = Arrays.copyOf(line, Math.min(MAX_LINE, line.length * 2));
+                    Arrays.fill(line, (byte) 0);
+                    line = grown;
+                }
+                line[lineLength++] = b;
+            }
+        }
+        return true;
+    }
+
+    // The next request to hand to a worker, or null if one is in flight, none is queued or QUIT was seen
+    String nextRequest() {
+        if (busy || output != null || quitting) {
+            return null;
+        }
+        String request = requests.poll();
+        if (request != null && request.equals("QUIT")) {
+            quitting = true;
+            return null;
+        }
+        busy = request != null;
+        return request;
+    }
+
+    boolean isQuitting() {
+        return quitting && output == null;
+    }
+
+    boolean hasOutput() {
+        return output != null;
+    }
+
+    // Called by the worker when respond() is done
+    void finished(ByteBuffer response) {
+        finished = response;
+    }
+
+    // Moves a finished response into place for flush(); false if the worker is not done yet
+    boolean takeFinished() {
+        ByteBuffer response = finished;
+        if (response == null) {
+            return false;
+        }
+        finished = null;
+        busy = false;
+        output = response;
+        return true;
+    }
+
+    /** Writes as much of the pending response as the socket takes; true once it is all written. */
+    boolean flush() throws IOException {
+        if (output == null) {
+            return true;
+        }
+        channel.write(output);
+        if (output.hasRemaining()) {
+            return false;
+        }
+        // Responses to GET carry plaintext passwords
+        Arrays.fill(output.array(), (byte) 0);
+        output = null;
+        return true;
+    }
+
+    void close() {
+        takeFinished();
+        if (output != null) {
+            Arrays.fill(output.array(), (byte) 0);
+            output = null;
+        }
+        Arrays.fill(line, (byte) 0);
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    // Runs one request on a worker thread and encodes the response
+    ByteBuffer respond(String request) {
+        WipingWriter out = new WipingWriter();
+        try {
+            handle(request, out);
+            ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(out.chars(), 0, out.size()));
+            ByteBuffer response = ByteBuffer.allocate(encoded.remaining());
+            response.put(encoded).flip();
+            Arrays.fill(encoded.array(), (byte) 0);
+            return response;
+        } finally {
+            out.wipe();
+        }
+    }
+
+    private void handle(String line, WipingWriter out) {
+        try {
+            if (line.startsWith("GET ")) {
+                List<char[]> passwords = new ArrayList<>();
+                List<String> usernames = vault.lookup(CredentialQuery.parse(line.substring(4).trim()), passwords);
+                try {
+                    out.write("OK " + usernames.size() + "\n");
+                    for (int i = 0; i < usernames.size(); i++) {
+                        out.write(usernames.get(i));
+                        out.write('\t');
+                        out.write(passwords.get(i));
+                        out.write('\n');
+                    }
+                } finally {
+                    for (char[] password : passwords) {
+                        Arrays.fill(password, '\0');
+                    }
+                }
+            } else if (line.startsWith("PUT ")) {
+                String[] parts = line.substring(4).split(" ", 2);
+                if (parts.length != 2 || parts[0].isEmpty() || parts[0].contains(":")) {
+                    out.write("ERR usage: PUT <username> <password>\n");
+                    return;
+                }
+                vault.store(parts[0], parts[1]);
+                out.write("OK\n");
+            } else if (line.equals("STATS")) {
+                out.write("OK " + vault.stats() + "\n");
+            } else {
+                out.write("ERR unknown command\n");
+            }
+        } catch (Exception e) {
+            out.reset();
+            out.write("ERR " + e.getMessage() + "\n");
+        }
+    }
+
+    // Response buffer whose contents (including buffers outgrown on the way) are zeroed afterwards
+    private static final class WipingWriter extends CharArrayWriter {
+        WipingWriter() {
+            super(1024);
+        }
+
+        @Override
+        public void write(String text) {
+            write(text.toCharArray(), 0, text.length());
+        }
+
+        @Override
+        public void write(char[] chars) {
+            write(chars, 0, chars.length);
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            if (count + length > buf.length) {
+                char[] old = buf;
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + length));
+                Arrays.fill(old, '\0');
+            }
+            super.write(chars, offset, length);
+        }
+
+        @Override
+        public void write(int c) {
+            write(new char[] {(char) c}, 0, 1);
+        }
+
+        char[] chars() {
+            return buf;
+        }
+
+        void wipe() {
+            Arrays.fill(buf, '\0');
+        }
+    }
+}